@@ -0,0 +1,49 @@
+package com.example.store.benchmark;
+
+import com.example.store.entity.Customer;
+import com.example.store.entity.Order;
+import com.example.store.entity.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shared by the benchmarks: {@code orders} orders spread over a fixed set of
+ * customers, each order holding {@code productsPerOrder} products from a shared catalog.
+ */
+final class BenchmarkData {
+
+    static final int CUSTOMERS = 100;
+    static final int CATALOG = 1_000;
+
+    final List<Customer> customers = new ArrayList<>();
+    final List<Product> products = new ArrayList<>();
+    final List<Order> orders = new ArrayList<>();
+
+    BenchmarkData(int orderCount, int productsPerOrder) {
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer();
+            customer.setId((long) i + 1);
+            customer.setName("Customer " + i);
+            customers.add(customer);
+        }
+        for (int i = 0; i < CATALOG; i++) {
+            Product product = new Product();
+            product.setId((long) i + 1);
+            product.setDescription("Product " + i);
+            products.add(product);
+        }
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order();
+            order.setId((long) i + 1);
+            order.setDescription("Order " + i);
+            Customer customer = customers.get(i % CUSTOMERS);
+            order.setCustomer(customer);
+            customer.getOrders().add(order);
+            for (int p = 0; p < productsPerOrder; p++) {
+                order.getProducts().add(products.get((i * 7 + p) % CATALOG));
+            }
+            orders.add(order);
+        }
+    }
+}
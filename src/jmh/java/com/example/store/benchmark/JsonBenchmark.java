@@ -0,0 +1,65 @@
+package com.example.store.benchmark;
+
+import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.mapper.CustomerMapper;
+import com.example.store.mapper.CustomerMapperImpl;
+import com.example.store.mapper.OrderMapper;
+import com.example.store.mapper.OrderMapperImpl;
+import com.example.store.mapper.ProductMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering the DTO lists returned by {@code /order/list} and {@code /customer/list} as JSON,
+ * with an {@link ObjectMapper} configured like Spring MVC's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+
+    @Param({"100", "10000"})
+    public int orders;
+
+    @Param({"1", "10"})
+    public int productsPerOrder;
+
+    private ObjectMapper objectMapper;
+    private List<OrderDTO> orderDTOs;
+    private List<CustomerDTO> customerDTOs;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        BenchmarkData data = new BenchmarkData(orders, productsPerOrder);
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                OrderMapperImpl.class, ProductMapperImpl.class, CustomerMapperImpl.class)) {
+            orderDTOs = context.getBean(OrderMapper.class).ordersToOrderDTOs(data.orders);
+            customerDTOs = context.getBean(CustomerMapper.class).customersToCustomerDTOs(data.customers);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderDTOs);
+    }
+
+    @Benchmark
+    public byte[] serializeCustomers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customerDTOs);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.store.benchmark;
+
+import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
+import com.example.store.mapper.CustomerMapper;
+import com.example.store.mapper.CustomerMapperImpl;
+import com.example.store.mapper.OrderMapper;
+import com.example.store.mapper.OrderMapperImpl;
+import com.example.store.mapper.ProductMapper;
+import com.example.store.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning N orders with M products each into DTOs with the generated MapStruct mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({"100", "10000"})
+    public int orders;
+
+    @Param({"1", "10"})
+    public int productsPerOrder;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderMapper orderMapper;
+    private CustomerMapper customerMapper;
+    private ProductMapper productMapper;
+    private BenchmarkData data;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigApplicationContext(
+                OrderMapperImpl.class, ProductMapperImpl.class, CustomerMapperImpl.class);
+        orderMapper = context.getBean(OrderMapper.class);
+        customerMapper = context.getBean(CustomerMapper.class);
+        productMapper = context.getBean(ProductMapper.class);
+        data = new BenchmarkData(orders, productsPerOrder);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OrderDTO> mapOrders() {
+        return orderMapper.ordersToOrderDTOs(data.orders);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> mapCustomers() {
+        return customerMapper.customersToCustomerDTOs(data.customers);
+    }
+
+    @Benchmark
+    public List<ProductDTO> mapProducts() {
+        return productMapper.productsToProductDTOs(data.products);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.store.benchmark;
+
+import com.example.store.dto.OrderDTO;
+import com.example.store.mapper.CustomerMapperImpl;
+import com.example.store.mapper.OrderMapper;
+import com.example.store.mapper.OrderMapperImpl;
+import com.example.store.mapper.ProductMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON versus CBOR for the {@code /order/list} payload: encode time with and without gzip (as
+ * {@code server.compression} would apply it). Payload sizes are printed once per trial, since JMH only
+ * measures time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadBenchmark {
+
+    @Param({"100", "10000"})
+    public int orders;
+
+    @Param({"1", "10"})
+    public int productsPerOrder;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<OrderDTO> orderDTOs;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = format.equals("cbor")
+                ? Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        BenchmarkData data = new BenchmarkData(orders, productsPerOrder);
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                OrderMapperImpl.class, ProductMapperImpl.class, CustomerMapperImpl.class)) {
+            orderDTOs = context.getBean(OrderMapper.class).ordersToOrderDTOs(data.orders);
+        }
+        System.out.printf("%n%s, %d orders x %d products: %,d bytes, %,d gzipped%n", format, orders,
+                productsPerOrder, encode().length, encodeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(orderDTOs);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, orderDTOs);
+        }
+        return bytes.toByteArray();
+    }
+}
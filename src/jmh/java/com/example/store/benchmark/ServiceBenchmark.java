@@ -0,0 +1,157 @@
+package com.example.store.benchmark;
+
+import com.example.store.StoreApplication;
+import com.example.store.dto.CursorPageDTO;
+import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.CustomerSummaryDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
+import com.example.store.entity.Customer;
+import com.example.store.entity.Order;
+import com.example.store.entity.Product;
+import com.example.store.repository.CustomerRepository;
+import com.example.store.repository.OrderRepository;
+import com.example.store.repository.ProductRepository;
+import com.example.store.search.CustomerNameSuggester;
+import com.example.store.search.CustomerSearchIndex;
+import com.example.store.service.CustomerService;
+import com.example.store.service.OrderService;
+import com.example.store.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the service layer against an in-memory H2 database, including the SQL round trips,
+ * Hibernate hydration and mapping. Absolute numbers are not comparable with PostgreSQL; use them to
+ * compare builds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    private static final int PRODUCTS_PER_ORDER = 5;
+
+    @Param({"1000", "10000"})
+    public int orders;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CustomerService customerService;
+    private ProductService productService;
+    private List<Long> productIds;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(StoreApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.liquibase.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "logging.level.com.example.store=WARN")
+                .run();
+        seed();
+
+        orderService = context.getBean(OrderService.class);
+        customerService = context.getBean(CustomerService.class);
+        productService = context.getBean(ProductService.class);
+    }
+
+    /**
+     * Persists the benchmark data set, then indexes it; the indexes were built empty at startup.
+     */
+    private void seed() {
+        BenchmarkData data = new BenchmarkData(orders, PRODUCTS_PER_ORDER);
+        context.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            List<Customer> customers = context.getBean(CustomerRepository.class).saveAll(copyCustomers(data.customers));
+            List<Product> products = context.getBean(ProductRepository.class).saveAll(copyProducts(data.products));
+            List<Order> entities = new ArrayList<>(data.orders.size());
+            for (Order source : data.orders) {
+                Order order = new Order();
+                order.setDescription(source.getDescription());
+                order.setCustomer(customers.get((int) (source.getCustomer().getId() - 1)));
+                source.getProducts().forEach(p -> order.getProducts().add(products.get((int) (p.getId() - 1))));
+                entities.add(order);
+            }
+            context.getBean(OrderRepository.class).saveAll(entities);
+        });
+        productIds = context.getBean(ProductRepository.class).findAll().stream()
+                .limit(50)
+                .map(Product::getId)
+                .toList();
+        context.getBean(CustomerSearchIndex.class).build();
+        context.getBean(CustomerNameSuggester.class).build();
+    }
+
+    private static List<Customer> copyCustomers(List<Customer> source) {
+        return source.stream().map(c -> {
+            Customer customer = new Customer();
+            customer.setName(c.getName());
+            return customer;
+        }).toList();
+    }
+
+    private static List<Product> copyProducts(List<Product> source) {
+        return source.stream().map(p -> {
+            Product product = new Product();
+            product.setDescription(p.getDescription());
+            return product;
+        }).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OrderDTO> getAllOrders() {
+        return orderService.getAllOrders();
+    }
+
+    @Benchmark
+    public CursorPageDTO<OrderDTO> getOrdersPage() {
+        return orderService.getOrdersPage(null, 100);
+    }
+
+    @Benchmark
+    public Page<CustomerDTO> getCustomersPage() {
+        return customerService.getAllCustomers(0, 20);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> searchCustomers() {
+        return customerService.searchCustomers("omer 4", 0, 20);
+    }
+
+    @Benchmark
+    public List<CustomerSummaryDTO> suggestCustomers() {
+        return customerService.suggestCustomers("customer 1", 10);
+    }
+
+    @Benchmark
+    public List<ProductDTO> getProductsByIds() {
+        return productService.getProductsByIds(productIds);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.store.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Change counters for the customer, order and product aggregates, used to answer conditional GETs
+ * without touching the database. Every write path bumps its aggregate once the change has committed.
+ * <p>
+ * The counters only live in this process, so ETags also carry a random epoch chosen at startup: a tag
+ * handed out before a restart (or by another instance) never matches.
+ */
+@Component
+public class AggregateVersions {
+
+    public enum Aggregate {
+        CUSTOMERS, ORDERS, PRODUCTS
+    }
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    private final AtomicLongArray versions = new AtomicLongArray(Aggregate.values().length);
+
+    // indexed by ordinal, like versions
+    private final List<List<Runnable>> invalidations = Arrays.stream(Aggregate.values())
+            .<List<Runnable>>map(aggregate -> new CopyOnWriteArrayList<>())
+            .toList();
+
+    public long current(Aggregate aggregate) {
+        return versions.get(aggregate.ordinal());
+    }
+
+    /**
+     * Registers {@code invalidation} (typically clearing a cache built from the aggregate) to run on every
+     * {@link #bump}, before the version moves.
+     */
+    public void onChange(Aggregate aggregate, Runnable invalidation) {
+        invalidations.get(aggregate.ordinal()).add(invalidation);
+    }
+
+    /**
+     * Records a committed change. Call it after the commit so a reader can never see the new version
+     * together with the old data; caches registered with {@link #onChange} are cleared first for the
+     * same reason.
+     */
+    public void bump(Aggregate aggregate) {
+        invalidations.get(aggregate.ordinal()).forEach(Runnable::run);
+        versions.incrementAndGet(aggregate.ordinal());
+    }
+
+    /**
+     * Strong ETag for a representation built from the given aggregates. Read it before loading the
+     * data, so the tag is never newer than the body it is sent with.
+     */
+    public String etag(Aggregate... aggregates) {
+        StringBuilder tag = new StringBuilder(32).append('"').append(epoch);
+        for (Aggregate aggregate : aggregates) {
+            tag.append('-').append(current(aggregate));
+        }
+        return tag.append('"').toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.store.cache;
+
+import com.example.store.config.StoreCacheProperties;
+import com.example.store.dto.ProductDTO;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * In-process copy of the product catalog keyed by primitive product id.
+ * <p>
+ * The entries are split over up to {@value #MAX_STRIPES} stripes, each a {@link Long2ObjectLinkedOpenHashMap}
+ * in access order guarded by its own monitor: lookups and puts touch one stripe, and ids are never boxed.
+ * The configured size cap is divided between the stripes; a full stripe evicts its least recently used
+ * product to make room, so eviction is LRU per stripe rather than across the whole cache.
+ */
+@Component
+public class ProductCatalogCache {
+
+    static final int MAX_STRIPES = 16;
+
+    // below this many entries per stripe the cache is not worth splitting
+    private static final int MIN_STRIPE_SIZE = 64;
+
+    private final Long2ObjectLinkedOpenHashMap<ProductDTO>[] stripes;
+    private final int[] capacities;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public ProductCatalogCache(StoreCacheProperties properties) {
+        int maxSize = Math.max(1, properties.getProducts().getMaxSize());
+        int count = Math.min(MAX_STRIPES, Math.max(1, Integer.highestOneBit(maxSize / MIN_STRIPE_SIZE)));
+        this.stripes = new Long2ObjectLinkedOpenHashMap[count];
+        this.capacities = new int[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Long2ObjectLinkedOpenHashMap<>();
+            this.capacities[i] = maxSize / count + (i < maxSize % count ? 1 : 0);
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Returns the cached product or {@code null} when it is not cached.
+     */
+    public ProductDTO get(long id) {
+        Long2ObjectLinkedOpenHashMap<ProductDTO> stripe = stripes[index(id)];
+        synchronized (stripe) {
+            return stripe.getAndMoveToLast(id);
+        }
+    }
+
+    public void put(ProductDTO product) {
+        long id = product.getId();
+        int index = index(id);
+        Long2ObjectLinkedOpenHashMap<ProductDTO> stripe = stripes[index];
+        synchronized (stripe) {
+            stripe.putAndMoveToLast(id, product);
+            if (stripe.size() > capacities[index]) {
+                stripe.removeFirst();
+            }
+        }
+    }
+
+    public void putAll(Collection<ProductDTO> toAdd) {
+        for (ProductDTO product : toAdd) {
+            put(product);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Long2ObjectLinkedOpenHashMap<ProductDTO> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Long2ObjectLinkedOpenHashMap<ProductDTO> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    private int index(long id) {
+        return (int) HashCommon.mix(id) & mask;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.store.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded JSON bodies of hot list endpoints, kept per endpoint together with the ETag they were built
+ * for. A request for the current version is answered with the stored bytes (gzipped ones when the
+ * client accepts gzip) without loading or serializing anything; the first request after a write
+ * rebuilds the entry, so the ETag doubles as the invalidation signal.
+ * <p>
+ * Only JSON is cached. Clients asking for another type (CBOR) go through normal content negotiation, under
+ * a tag of their own.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseBodyCache {
+
+    /**
+     * Bodies below this size are not worth compressing; same threshold as {@code server.compression}.
+     */
+    static final int GZIP_MIN_SIZE = 2048;
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentMap<String, Body> bodies = new ConcurrentHashMap<>();
+
+    private record Body(String etag, byte[] json, byte[] gzipped) {
+    }
+
+    /**
+     * Answers a GET for {@code name} whose content is identified by {@code etag}. When
+     * {@code If-None-Match} carries the current tag the answer is 304, without calling {@code loader} or
+     * rendering anything; otherwise the cached bytes, rebuilt from {@code loader} when they are stale.
+     * Read {@code etag} before anything {@code loader} reads, so the tag is never newer than the body.
+     * Returns {@code null} once a 304 has been written, as {@link WebRequest#checkNotModified} expects.
+     */
+    public ResponseEntity<?> respond(String name, String etag, WebRequest request, Supplier<?> loader) {
+        boolean json = prefersJson(request.getHeader(HttpHeaders.ACCEPT));
+        boolean gzip = json && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // identity JSON, gzipped JSON and CBOR are different representations, so each gets its own tag
+        String tag = !json ? variant(etag, "cbor") : gzip ? variant(etag, "gz") : etag;
+        // on the 304 as well, so caches keep the variants apart
+        varyByAcceptAndEncoding(request);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        if (!json) {
+            return ResponseEntity.ok().eTag(tag).body(loader.get());
+        }
+
+        Body body = bodies.get(name);
+        if (body == null || !body.etag().equals(etag)) {
+            body = encode(etag, loader.get());
+            bodies.put(name, body);
+            log.debug("Cached {} response: {} bytes JSON, {} gzipped", name, body.json().length,
+                    body.gzipped() == null ? "not" : body.gzipped().length + " bytes");
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(tag)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip && body.gzipped() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(body.gzipped());
+        }
+        return response.body(body.json());
+    }
+
+    private static String variant(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    private static void varyByAcceptAndEncoding(WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest
+                && nativeRequest.getNativeResponse() instanceof HttpServletResponse response) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private Body encode(String etag, Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new Body(etag, json, json.length < GZIP_MIN_SIZE ? null : gzip(json));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode response body", ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Whether JSON is what the client wants most among the types we can produce; a missing header or
+     * a wildcard counts as JSON, which is the default representation.
+     */
+    static boolean prefersJson(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return true;
+        }
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+        types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : types) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].strip().equalsIgnoreCase(GZIP)) {
+                return parts.length == 1 || !parts[1].replace(" ", "").equalsIgnoreCase("q=0");
+            }
+        }
+        return false;
+    }
+}
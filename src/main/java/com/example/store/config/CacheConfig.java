@@ -0,0 +1,36 @@
+package com.example.store.config;
+
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Objects;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String REPORTS = "reports";
+
+    /**
+     * Bounded Caffeine caches instead of the default unbounded ConcurrentMap ones.
+     */
+    @Bean
+    public CacheManager cacheManager(StoreCacheProperties properties, AggregateVersions aggregateVersions) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(properties.getDefaultSpec());
+        properties.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).build()));
+
+        // Customer listings embed orders. Clear them before the version moves, not after the write
+        // returns, or a reader could cache the old list under the new ETag.
+        Runnable clearCustomers = () -> Objects.requireNonNull(cacheManager.getCache(CUSTOMERS)).clear();
+        aggregateVersions.onChange(Aggregate.CUSTOMERS, clearCustomers);
+        aggregateVersions.onChange(Aggregate.ORDERS, clearCustomers);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.store.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "store.import")
+public class ImportProperties {
+
+    /**
+     * Rows written per transaction; also the JDBC batch size.
+     */
+    private int chunkSize = 1_000;
+
+    /**
+     * Row errors listed in an import summary; further errors are only counted.
+     */
+    private int maxReportedErrors = 100;
+}
@@ -0,0 +1,62 @@
+package com.example.store.config;
+
+import com.example.store.cache.ProductCatalogCache;
+import com.example.store.metrics.SqlStatementCounter;
+import com.example.store.metrics.SqlStatementCountingDataSource;
+import com.example.store.metrics.SqlStatementMetricsFilter;
+import com.example.store.search.CustomerSearchIndex;
+import com.example.store.service.OrderIntakeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Application metrics on top of what Actuator binds by itself (HTTP server requests, JVM/GC,
+ * HikariCP, Hibernate statistics and the Spring caches).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Wraps the connection pool so {@link SqlStatementCounter} sees every statement, not only Hibernate's.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SqlStatementCountingDataSource)
+                        ? new SqlStatementCountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry registry,
+                                                                                       SqlBudgetProperties budgets) {
+        return new FilterRegistrationBean<>(new SqlStatementMetricsFilter(registry, budgets));
+    }
+
+    @Bean
+    public MeterBinder storeGauges(ProductCatalogCache productCatalogCache, CustomerSearchIndex customerSearchIndex,
+                                   OrderIntakeService orderIntakeService) {
+        return registry -> {
+            Gauge.builder("store.product.catalog.size", productCatalogCache, ProductCatalogCache::size)
+                    .description("Products held in the in-process catalog cache")
+                    .register(registry);
+            Gauge.builder("store.customer.search.index.size", customerSearchIndex, CustomerSearchIndex::size)
+                    .description("Customers in the name search index")
+                    .register(registry);
+            Gauge.builder("store.order.intake.queue", orderIntakeService, OrderIntakeService::queuedOrders)
+                    .description("Orders waiting for the intake writer")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.store.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "store.order.batch")
+public class OrderBatchProperties {
+
+    /**
+     * Orders written per transaction; also the JDBC batch size.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Largest number of orders accepted by one request.
+     */
+    private int maxItems = 10_000;
+}
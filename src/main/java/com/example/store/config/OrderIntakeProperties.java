@@ -0,0 +1,42 @@
+package com.example.store.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "store.order.intake")
+public class OrderIntakeProperties {
+
+    /**
+     * Orders that may wait for the writer; further submissions are answered with 429.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Most orders committed together. Keep it at or below {@code store.order.batch.chunk-size} so that a
+     * batch is a single transaction.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * How long the writer keeps gathering orders after the first one arrives, before it commits.
+     */
+    private Duration maxWait = Duration.ofMillis(5);
+
+    /**
+     * How long the status of a submitted order can be looked up.
+     */
+    private Duration statusTtl = Duration.ofHours(1);
+
+    /**
+     * Upper bound on remembered statuses, oldest dropped first.
+     */
+    private long maxTrackedStatuses = 1_000_000;
+
+    /**
+     * How long shutdown waits for the writer to drain the queue.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
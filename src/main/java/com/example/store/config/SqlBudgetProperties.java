@@ -0,0 +1,36 @@
+package com.example.store.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "store.sql.budget")
+public class SqlBudgetProperties {
+
+    /**
+     * SQL statements a request may prepare before a warning is logged, for endpoints without an entry in
+     * {@link #endpoints}.
+     */
+    private int defaultBudget = 10;
+
+    /**
+     * Budgets per endpoint, keyed by method and URI pattern, e.g. {@code "[GET /order/find/{id}]": 2}. A
+     * handler mapped with a {@code params} condition is keyed with it, e.g. {@code "[GET /order/list?limit]"},
+     * and falls back to the entry of its plain pattern.
+     */
+    private Map<String, Integer> endpoints = new LinkedHashMap<>();
+
+    /**
+     * @param endpoint URI pattern, followed by {@code ?params} when the handler has a params condition
+     */
+    public int budgetFor(String method, String endpoint) {
+        Integer budget = endpoints.get(method + " " + endpoint);
+        if (budget == null && endpoint.indexOf('?') >= 0) {
+            budget = endpoints.get(method + " " + endpoint.substring(0, endpoint.indexOf('?')));
+        }
+        return budget == null ? defaultBudget : budget;
+    }
+}
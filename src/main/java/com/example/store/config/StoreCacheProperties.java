@@ -0,0 +1,33 @@
+package com.example.store.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine specifications per cache name, see {@code com.github.benmanes.caffeine.cache.CaffeineSpec}.
+ */
+@Data
+@ConfigurationProperties(prefix = "store.cache")
+public class StoreCacheProperties {
+
+    /**
+     * Used for any cache that has no entry in {@link #specs}.
+     */
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m,recordStats";
+
+    private Map<String, String> specs = new LinkedHashMap<>();
+
+    private Products products = new Products();
+
+    @Data
+    public static class Products {
+
+        /**
+         * Upper bound on the number of products held by the in-process catalog cache.
+         */
+        private int maxSize = 10_000;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.store.controller;
+
+import com.example.store.dto.CacheStatsDTO;
+import com.example.store.service.CacheStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping("/stats")
+    public List<CacheStatsDTO> getCacheStats() {
+        return cacheStatsService.getCacheStats();
+    }
+}
@@ -1,20 +1,37 @@
 package com.example.store.controller;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.cache.ResponseBodyCache;
+import com.example.store.dto.CursorPageDTO;
 import com.example.store.dto.CustomerCreateDTO;
 import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.CustomerOrderDTO;
+import com.example.store.dto.CustomerSummaryDTO;
+import com.example.store.dto.ImportSummaryDTO;
+import com.example.store.service.CsvImportService;
 import com.example.store.service.CustomerService;
+import com.example.store.service.FieldSelection;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -23,23 +40,75 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CsvImportService csvImportService;
+    private final AggregateVersions aggregateVersions;
+    private final ResponseBodyCache responseBodyCache;
 
+    /**
+     * Conditional GET through {@link ResponseBodyCache}. Customers embed their orders, so the tag covers
+     * both unless {@code orders} is left out.
+     * {@code fields} and {@code expand} select a sparse fieldset, see {@link FieldSelection}.
+     */
     @GetMapping("/list")
-    public List<CustomerDTO> getAllCustomers() {
-        return customerService.getAllCustomers();
+    public ResponseEntity<?> getAllCustomers(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest request) {
+
+        FieldSelection selection = FieldSelection.forCustomer(fields, expand);
+        if (selection.isFull()) {
+            String etag = aggregateVersions.etag(Aggregate.CUSTOMERS, Aggregate.ORDERS);
+            // Not the @Cacheable getAllCustomers(): that list may predate the etag read above
+            return responseBodyCache.respond("customers", etag, request,
+                    () -> customerService.getAllCustomers(FieldSelection.ALL_CUSTOMER_FIELDS));
+        }
+        String etag = selection.expands(FieldSelection.ORDERS)
+                ? aggregateVersions.etag(Aggregate.CUSTOMERS, Aggregate.ORDERS)
+                : aggregateVersions.etag(Aggregate.CUSTOMERS);
+        return responseBodyCache.respond("customers?" + selection.key(), etag, request,
+                () -> customerService.getAllCustomers(selection));
     }
 
     @GetMapping("list/paged")
     public Page<CustomerDTO> getAllCustomers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
 
-        return customerService.getAllCustomers(page, size);
+        return customerService.getAllCustomers(page, size, FieldSelection.forCustomer(fields, expand));
     }
 
     @GetMapping("/search")
-    public List<CustomerDTO> searchCustomers(@RequestParam("query") String query) {
-        return customerService.searchCustomers(query);
+    public List<CustomerDTO> searchCustomers(
+            @RequestParam("query") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+
+        return customerService.searchCustomers(query, page, size, FieldSelection.forCustomer(fields, expand));
+    }
+
+    @GetMapping("/suggest")
+    public List<CustomerSummaryDTO> suggestCustomers(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return customerService.suggestCustomers(prefix, limit);
+    }
+
+    /**
+     * A customer's orders in id order, one keyset page at a time; pass {@code nextCursor} back as
+     * {@code after} for the following page.
+     */
+    @GetMapping("/{id}/orders")
+    public CursorPageDTO<CustomerOrderDTO> getCustomerOrders(
+            final @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return customerService.getCustomerOrders(id, after, limit);
     }
 
     @PostMapping("/create")
@@ -47,4 +116,22 @@ public class CustomerController {
     public CustomerDTO createCustomer(@Valid @RequestBody CustomerCreateDTO customer) {
         return customerService.createCustomer(customer);
     }
+
+    /**
+     * Bulk import from a multipart CSV upload.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportSummaryDTO importCustomers(@RequestPart("file") MultipartFile file) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return csvImportService.importCustomers(csv);
+        }
+    }
+
+    /**
+     * Bulk import from a raw {@code text/csv} request body, read straight off the request stream.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportSummaryDTO importCustomers(InputStream csv) throws IOException {
+        return csvImportService.importCustomers(csv);
+    }
 }
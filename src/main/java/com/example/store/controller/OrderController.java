@@ -1,19 +1,36 @@
 package com.example.store.controller;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.cache.ResponseBodyCache;
+import com.example.store.dto.CursorPageDTO;
+import com.example.store.dto.OrderBatchResultDTO;
 import com.example.store.dto.OrderCreateDTO;
 import com.example.store.dto.OrderDTO;
+import com.example.store.dto.OrderIntakeStatusDTO;
+import com.example.store.service.FieldSelection;
+import com.example.store.service.OrderBatchService;
+import com.example.store.service.OrderExportService;
+import com.example.store.service.OrderIntakeService;
 import com.example.store.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -22,15 +39,63 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderBatchService orderBatchService;
+    private final OrderIntakeService orderIntakeService;
+    private final AggregateVersions aggregateVersions;
+    private final ResponseBodyCache responseBodyCache;
 
+    /**
+     * Conditional GET through {@link ResponseBodyCache}. Orders embed their customer and products, so the
+     * tag covers whichever of the three are returned.
+     * {@code fields} and {@code expand} select a sparse fieldset, see {@link FieldSelection}.
+     */
     @GetMapping("/list")
-    public List<OrderDTO> getAllOrders() {
-        return orderService.getAllOrders();
+    public ResponseEntity<?> getAllOrders(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest request) {
+
+        FieldSelection selection = FieldSelection.forOrder(fields, expand);
+        if (selection.isFull()) {
+            String etag = aggregateVersions.etag(Aggregate.ORDERS, Aggregate.CUSTOMERS, Aggregate.PRODUCTS);
+            return responseBodyCache.respond("orders", etag, request, orderService::getAllOrders);
+        }
+        List<Aggregate> aggregates = new ArrayList<>(List.of(Aggregate.ORDERS));
+        if (selection.expands(FieldSelection.CUSTOMER)) {
+            aggregates.add(Aggregate.CUSTOMERS);
+        }
+        if (selection.expands(FieldSelection.PRODUCTS)) {
+            aggregates.add(Aggregate.PRODUCTS);
+        }
+        String etag = aggregateVersions.etag(aggregates.toArray(Aggregate[]::new));
+        return responseBodyCache.respond("orders?" + selection.key(), etag, request,
+                () -> orderService.getAllOrders(selection));
+    }
+
+    @GetMapping(value = "/list", params = "limit")
+    public CursorPageDTO<OrderDTO> getOrdersPage(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+        return orderService.getOrdersPage(after, limit, FieldSelection.forOrder(fields, expand));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        StreamingResponseBody body = orderExportService::exportOrders;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/find/{id}")
-    public OrderDTO getOrderById(final @PathVariable Long id) {
-        return orderService.getOrderById(id);
+    public OrderDTO getOrderById(
+            final @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+        return orderService.getOrderById(id, FieldSelection.forOrder(fields, expand));
     }
 
     @PostMapping("/create")
@@ -38,4 +103,33 @@ public class OrderController {
     public OrderDTO createOrder(@Valid @RequestBody OrderCreateDTO order) {
         return orderService.createOrder(order);
     }
+
+    /**
+     * Creates many orders in one call; every item gets its own result, invalid items do not fail the batch.
+     */
+    @PostMapping("/batch")
+    public OrderBatchResultDTO createOrders(@RequestBody List<OrderCreateDTO> orders) {
+        return orderBatchService.createOrders(orders);
+    }
+
+    /**
+     * Accepts an order for asynchronous creation and returns 202 with a tracking id at once; the order is
+     * durable when {@code GET /order/intake/{trackingId}} reports {@code CREATED}. Answers 429 when the
+     * intake queue is full.
+     */
+    @PostMapping("/intake")
+    public ResponseEntity<OrderIntakeStatusDTO> submitOrder(@Valid @RequestBody OrderCreateDTO order) {
+        OrderIntakeStatusDTO status = orderIntakeService.submit(order);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{trackingId}")
+                        .buildAndExpand(status.getTrackingId())
+                        .toUri())
+                .body(status);
+    }
+
+    @GetMapping("/intake/{trackingId}")
+    public OrderIntakeStatusDTO getIntakeStatus(@PathVariable String trackingId) {
+        return orderIntakeService.getStatus(trackingId);
+    }
 }
@@ -1,20 +1,31 @@
 package com.example.store.controller;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.cache.ResponseBodyCache;
+import com.example.store.dto.ImportSummaryDTO;
 import com.example.store.dto.ProductCreateDTO;
 import com.example.store.dto.ProductDTO;
+import com.example.store.service.CsvImportService;
 import com.example.store.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/products")
@@ -22,6 +33,9 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final CsvImportService csvImportService;
+    private final AggregateVersions aggregateVersions;
+    private final ResponseBodyCache responseBodyCache;
 
     @PostMapping("/create")
     @ResponseStatus(HttpStatus.CREATED)
@@ -29,13 +43,35 @@ public class ProductController {
         return productService.createProduct(product);
     }
 
+    /**
+     * Conditional GET through {@link ResponseBodyCache}, tagged by the product aggregate alone.
+     */
     @GetMapping("/list")
-    public List<ProductDTO> getAllProducts() {
-        return productService.getAllProducts();
+    public ResponseEntity<?> getAllProducts(WebRequest request) {
+        String etag = aggregateVersions.etag(Aggregate.PRODUCTS);
+        return responseBodyCache.respond("products", etag, request, productService::getAllProducts);
     }
 
     @GetMapping("/find/{id}")
     public ProductDTO getProductById(@PathVariable Long id) {
         return productService.getProductById(id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Bulk import from a multipart CSV upload.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportSummaryDTO importProducts(@RequestPart("file") MultipartFile file) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return csvImportService.importProducts(csv);
+        }
+    }
+
+    /**
+     * Bulk import from a raw {@code text/csv} request body, read straight off the request stream.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportSummaryDTO importProducts(InputStream csv) throws IOException {
+        return csvImportService.importProducts(csv);
+    }
+}
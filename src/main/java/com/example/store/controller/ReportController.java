@@ -0,0 +1,53 @@
+package com.example.store.controller;
+
+import com.example.store.dto.CoPurchaseDTO;
+import com.example.store.dto.CustomerOrderCountDTO;
+import com.example.store.dto.HistogramBucketDTO;
+import com.example.store.dto.ReportPageDTO;
+import com.example.store.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @GetMapping("/customer-orders")
+    public ReportPageDTO<CustomerOrderCountDTO> getCustomerOrderCounts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+
+        return reportService.getCustomerOrderCounts(page, size);
+    }
+
+    @GetMapping("/co-purchases")
+    public ReportPageDTO<CoPurchaseDTO> getCoPurchases(
+            @RequestParam(required = false) Long productId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+
+        return reportService.getCoPurchases(productId, page, size);
+    }
+
+    @GetMapping("/histograms/orders-per-customer")
+    public ReportPageDTO<HistogramBucketDTO> getOrdersPerCustomerHistogram(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+
+        return reportService.getOrdersPerCustomerHistogram(page, size);
+    }
+
+    @GetMapping("/histograms/products-per-order")
+    public ReportPageDTO<HistogramBucketDTO> getProductsPerOrderHistogram(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+
+        return reportService.getProductsPerOrderHistogram(page, size);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.store.controller;
+
+import com.example.store.dto.OrderCountDTO;
+import com.example.store.service.OrderStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final OrderStatsService orderStatsService;
+
+    @GetMapping("/customers/{id}/orders")
+    public OrderCountDTO getCustomerOrderCount(@PathVariable Long id) {
+        return orderStatsService.getCustomerOrderCount(id);
+    }
+
+    @GetMapping("/customers/top")
+    public List<OrderCountDTO> getTopCustomers(@RequestParam(defaultValue = "10") int limit) {
+        return orderStatsService.getTopCustomers(limit);
+    }
+
+    @GetMapping("/products/{id}/orders")
+    public OrderCountDTO getProductOrderCount(@PathVariable Long id) {
+        return orderStatsService.getProductOrderCount(id);
+    }
+
+    @GetMapping("/products/top")
+    public List<OrderCountDTO> getTopProducts(@RequestParam(defaultValue = "10") int limit) {
+        return orderStatsService.getTopProducts(limit);
+    }
+}
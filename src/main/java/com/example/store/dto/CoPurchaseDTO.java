@@ -0,0 +1,17 @@
+package com.example.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of orders containing both products.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoPurchaseDTO {
+    private Long productId;
+    private Long otherProductId;
+    private Long orders;
+}
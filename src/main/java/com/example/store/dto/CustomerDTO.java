@@ -1,10 +1,15 @@
 package com.example.store.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.util.List;
 
+/**
+ * {@code orders} stays null, and out of the JSON, unless the caller expands it.
+ */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CustomerDTO {
     private Long id;
     private String name;
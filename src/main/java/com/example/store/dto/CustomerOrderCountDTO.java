@@ -0,0 +1,17 @@
+package com.example.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of the orders per customer report.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderCountDTO {
+    private Long customerId;
+    private String name;
+    private Long orders;
+}
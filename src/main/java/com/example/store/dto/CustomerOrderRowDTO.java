@@ -0,0 +1,24 @@
+package com.example.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat (customer id, order id, description) row, projected straight from the order table so customer
+ * listings can attach orders without loading {@code Customer.orders}. {@code customerName} is only
+ * filled by the queries that join the customer.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderRowDTO {
+    private Long customerId;
+    private Long orderId;
+    private String description;
+    private String customerName;
+
+    public CustomerOrderRowDTO(Long customerId, Long orderId, String description) {
+        this(customerId, orderId, description, null);
+    }
+}
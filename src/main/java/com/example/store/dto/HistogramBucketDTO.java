@@ -0,0 +1,16 @@
+package com.example.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One bar of a distribution: how many rows ({@code frequency}) have exactly {@code value}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramBucketDTO {
+    private Long value;
+    private Long frequency;
+}
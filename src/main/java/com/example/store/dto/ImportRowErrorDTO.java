@@ -0,0 +1,16 @@
+package com.example.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+    /**
+     * 1-based record number in the uploaded file, the header being record 1.
+     */
+    private long row;
+    private String message;
+}
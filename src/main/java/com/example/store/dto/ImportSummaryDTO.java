@@ -0,0 +1,15 @@
+package com.example.store.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportSummaryDTO {
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+}
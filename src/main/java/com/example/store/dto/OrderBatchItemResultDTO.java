@@ -0,0 +1,34 @@
+package com.example.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchItemResultDTO {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    /**
+     * Position of the item in the submitted batch.
+     */
+    private int index;
+    private Status status;
+    private Long orderId;
+    private List<String> errors;
+
+    public static OrderBatchItemResultDTO created(int index, long orderId) {
+        return new OrderBatchItemResultDTO(index, Status.CREATED, orderId, null);
+    }
+
+    public static OrderBatchItemResultDTO rejected(int index, List<String> errors) {
+        return new OrderBatchItemResultDTO(index, Status.REJECTED, null, errors);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of orders for one customer or one product, identified by {@code id}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCountDTO {
+    private Long id;
+    private Long orders;
+}
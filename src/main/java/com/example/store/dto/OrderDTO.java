@@ -1,10 +1,15 @@
 package com.example.store.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.util.List;
 
+/**
+ * Fields left out by a sparse fieldset ({@code fields=} / {@code expand=}) are null and not rendered.
+ */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class OrderDTO {
     private Long id;
     private String description;
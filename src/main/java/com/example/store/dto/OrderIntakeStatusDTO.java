@@ -0,0 +1,42 @@
+package com.example.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Where an order submitted to {@code POST /order/intake} is: still queued, committed, or rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeStatusDTO {
+
+    public enum Status {
+        QUEUED,
+        CREATED,
+        REJECTED
+    }
+
+    private String trackingId;
+    private Status status;
+    /**
+     * Set once the order has been committed.
+     */
+    private Long orderId;
+    private List<String> errors;
+
+    public static OrderIntakeStatusDTO queued(String trackingId) {
+        return new OrderIntakeStatusDTO(trackingId, Status.QUEUED, null, null);
+    }
+
+    public static OrderIntakeStatusDTO created(String trackingId, long orderId) {
+        return new OrderIntakeStatusDTO(trackingId, Status.CREATED, orderId, null);
+    }
+
+    public static OrderIntakeStatusDTO rejected(String trackingId, List<String> errors) {
+        return new OrderIntakeStatusDTO(trackingId, Status.REJECTED, null, errors);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a report. Reports are ordered by their aggregate, so pages are addressed by number;
+ * {@code hasNext} comes from reading one extra row rather than from a count query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportPageDTO<T> {
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private List<T> content;
+}
@@ -6,6 +6,8 @@ import com.example.store.entity.Customer;
 import com.example.store.entity.Order;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.List;
 
@@ -13,6 +15,13 @@ import java.util.List;
 public interface OrderMapper {
     OrderDTO orderToOrderDTO(Order order);
 
+    /**
+     * Maps everything but the products, for callers that already hold the product DTOs.
+     */
+    @Named("withoutProducts")
+    @Mapping(target = "products", ignore = true)
+    OrderDTO orderToOrderDTOWithoutProducts(Order order);
+
     List<OrderDTO> ordersToOrderDTOs(List<Order> orders);
 
     OrderCustomerDTO orderToOrderCustomerDTO(Customer customer);
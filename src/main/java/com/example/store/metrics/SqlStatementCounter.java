@@ -0,0 +1,49 @@
+package com.example.store.metrics;
+
+/**
+ * Counts the SQL statements sent on the current thread between {@link #start()} and {@link #stop()}.
+ * Fed by {@link SqlStatementCountingDataSource}, so Hibernate and {@code JdbcTemplate} statements are
+ * both counted; statements issued outside a started scope (startup, background work) are not.
+ *
+ * <p>Code running inside a scope someone else started (a request inside a test, say) should take the
+ * difference of {@link #current()} before and after instead of starting its own.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static boolean isActive() {
+        return COUNT.get() != null;
+    }
+
+    /**
+     * Statements counted so far in the current scope, or 0 outside a scope.
+     */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Ends the current scope and returns its statement count.
+     */
+    public static int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
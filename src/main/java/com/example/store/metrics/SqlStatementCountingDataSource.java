@@ -0,0 +1,83 @@
+package com.example.store.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts every SQL statement sent through the application's {@link DataSource} in
+ * {@link SqlStatementCounter}, whoever sends it: Hibernate, {@code JdbcTemplate} or plain JDBC.
+ * A prepared statement (or call) counts once when it is prepared, however many batch rows it executes;
+ * a plain {@link Statement} counts once per {@code execute*} call.
+ *
+ * <p>Closing it closes the wrapped pool, so the container still shuts the pool down with the bean.
+ */
+public class SqlStatementCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public SqlStatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlStatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "prepareStatement", "prepareCall" -> {
+                        Object prepared = invoke(connection, method, args);
+                        SqlStatementCounter.increment();
+                        yield prepared;
+                    }
+                    case "createStatement" -> counting((Statement) invoke(connection, method, args));
+                    default -> invoke(connection, method, args);
+                });
+    }
+
+    private static Statement counting(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(SqlStatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {Statement.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    Object result = invoke(statement, method, args);
+                    if (method.getName().startsWith("execute")) {
+                        SqlStatementCounter.increment();
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
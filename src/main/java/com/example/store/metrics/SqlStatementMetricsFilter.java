@@ -0,0 +1,96 @@
+package com.example.store.metrics;
+
+import com.example.store.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request prepared, as the {@code store.jdbc.statements}
+ * distribution tagged with the request method and the matched URI pattern, and warns when a request
+ * goes over its endpoint's budget (usually a lazy association loaded once per row).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "store.jdbc.statements";
+
+    /**
+     * Request attribute holding the statement count at the start of the request.
+     */
+    static final String START_ATTRIBUTE = SqlStatementMetricsFilter.class.getName() + ".start";
+
+    private final MeterRegistry registry;
+    private final SqlBudgetProperties budgets;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean owner = !SqlStatementCounter.isActive();
+        if (owner) {
+            SqlStatementCounter.start();
+        }
+        int before = SqlStatementCounter.current();
+        request.setAttribute(START_ATTRIBUTE, before);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.current() - before;
+            if (owner) {
+                SqlStatementCounter.stop();
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            record(request.getMethod(), uri, params(request), statements);
+        }
+    }
+
+    /**
+     * The {@code params} condition of the handler that served the request, e.g. {@code "limit"}, or an empty
+     * string. Handlers that share a URI pattern and differ only by parameters (the full and the paged
+     * {@code /order/list}) get separate budgets this way.
+     */
+    static String params(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(),
+                    RequestMapping.class);
+            if (mapping != null && mapping.params().length > 0) {
+                return String.join("&", mapping.params());
+            }
+        }
+        return "";
+    }
+
+    private void record(String method, String uri, String params, int statements) {
+        DistributionSummary.builder(METRIC)
+                .description("SQL statements prepared per HTTP request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(statements);
+
+        String endpoint = params.isEmpty() ? uri : uri + "?" + params;
+        int budget = budgets.budgetFor(method, endpoint);
+        if (statements > budget) {
+            log.warn("{} {} prepared {} SQL statements, over its budget of {}; check for N+1 loading",
+                    method, endpoint, statements, budget);
+        } else {
+            log.debug("{} {} prepared {} SQL statements", method, endpoint, statements);
+        }
+    }
+}
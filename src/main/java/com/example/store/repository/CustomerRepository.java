@@ -1,11 +1,19 @@
 package com.example.store.repository;
 
+import com.example.store.dto.CustomerSummaryDTO;
 import com.example.store.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
@@ -13,4 +21,27 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Page<Customer> findAll(Pageable pageable);
 
+    @Query("select c.id from Customer c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids and names of every customer, streamed in id order. Must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.store.dto.CustomerSummaryDTO(c.id, c.name) from Customer c order by c.id")
+    Stream<CustomerSummaryDTO> streamAllSummaries();
+
+    @Query("select new com.example.store.dto.CustomerSummaryDTO(c.id, c.name) from Customer c order by c.id")
+    List<CustomerSummaryDTO> findAllSummaries();
+
+    @Query(value = "select new com.example.store.dto.CustomerSummaryDTO(c.id, c.name) from Customer c order by c.id",
+            countQuery = "select count(c) from Customer c")
+    Page<CustomerSummaryDTO> findSummaries(Pageable pageable);
+
+    @Query("select new com.example.store.dto.CustomerSummaryDTO(c.id, c.name) from Customer c where c.id in :ids")
+    List<CustomerSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
 }
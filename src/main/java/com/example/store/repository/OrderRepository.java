@@ -1,7 +1,105 @@
 package com.example.store.repository;
 
+import com.example.store.dto.CustomerOrderRowDTO;
+import com.example.store.dto.OrderCountDTO;
 import com.example.store.entity.Order;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {}
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    /**
+     * Read model for {@code OrderDTO}: orders, customers and products in a single statement.
+     */
+    @EntityGraph(attributePaths = {"customer", "products"})
+    @Query("select o from Order o order by o.id")
+    List<Order> findAllWithCustomerAndProducts();
+
+    @EntityGraph(attributePaths = {"customer", "products"})
+    @Query("select o from Order o where o.id in :ids order by o.id")
+    List<Order> findAllWithCustomerAndProductsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page of ids: a range scan on the primary key index, so the cost does not grow with the page depth.
+     * Only ids are limited here because a row limit cannot be combined with a collection fetch join.
+     */
+    @Query("select o.id from Order o where o.id > :after order by o.id")
+    List<Long> findIdsAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Server side cursor over every order with its customer. Must be consumed inside a read-only
+     * transaction and closed afterwards; rows are fetched from the database in chunks.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o join fetch o.customer order by o.id")
+    Stream<Order> streamAllWithCustomer();
+
+    /**
+     * Customer id, id and description of every order in id order, without touching the customer table.
+     */
+    @Query("select new com.example.store.dto.CustomerOrderRowDTO(o.customer.id, o.id, o.description) "
+            + "from Order o order by o.id")
+    List<CustomerOrderRowDTO> findAllCustomerOrderRows();
+
+    @Query("select new com.example.store.dto.CustomerOrderRowDTO(o.customer.id, o.id, o.description) "
+            + "from Order o where o.id in :ids order by o.id")
+    List<CustomerOrderRowDTO> findCustomerOrderRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Like {@link #findAllCustomerOrderRows()} plus the customer name: one join, no product rows.
+     */
+    @Query("select new com.example.store.dto.CustomerOrderRowDTO(c.id, o.id, o.description, c.name) "
+            + "from Order o join o.customer c order by o.id")
+    List<CustomerOrderRowDTO> findAllCustomerOrderRowsWithName();
+
+    @Query("select new com.example.store.dto.CustomerOrderRowDTO(c.id, o.id, o.description, c.name) "
+            + "from Order o join o.customer c where o.id in :ids order by o.id")
+    List<CustomerOrderRowDTO> findCustomerOrderRowsWithNameByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page of one customer's orders, read as a range of the {@code (customer_id, id)} index.
+     */
+    @Query("select new com.example.store.dto.CustomerOrderRowDTO(o.customer.id, o.id, o.description) "
+            + "from Order o where o.customer.id = :customerId and o.id > :after order by o.id")
+    List<CustomerOrderRowDTO> findCustomerOrderRowsAfter(@Param("customerId") long customerId,
+                                                         @Param("after") long after, Pageable pageable);
+
+    @Query("select coalesce(max(o.id), 0) from Order o")
+    long findMaxId();
+
+    /**
+     * Those of {@code ids} that exist as far as the current transaction can see.
+     */
+    @Query("select o.id from Order o where o.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Orders per customer among the orders up to {@code maxId}; one group-by over the order table.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.store.dto.OrderCountDTO(o.customer.id, count(o)) from Order o "
+            + "where o.id <= :maxId group by o.customer.id")
+    Stream<OrderCountDTO> countOrdersByCustomer(@Param("maxId") long maxId);
+
+    /**
+     * Orders per product among the orders up to {@code maxId}; one group-by over order_product.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.store.dto.OrderCountDTO(p.id, count(o)) from Order o join o.products p "
+            + "where o.id <= :maxId group by p.id")
+    Stream<OrderCountDTO> countOrdersByProduct(@Param("maxId") long maxId);
+}
@@ -0,0 +1,73 @@
+package com.example.store.search;
+
+import com.example.store.dto.CustomerSummaryDTO;
+import com.example.store.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead over customer names. Names are kept in a sorted map keyed by the lower-cased name
+ * (plus the id, so namesakes do not collide); a prefix lookup is a range scan from the prefix that
+ * stops after {@code limit} entries, so it never touches the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerNameSuggester {
+
+    private static final char SEPARATOR = '\0';
+
+    private final CustomerRepository customerRepository;
+
+    private final ConcurrentSkipListMap<String, CustomerSummaryDTO> names = new ConcurrentSkipListMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        long start = System.nanoTime();
+        try (Stream<CustomerSummaryDTO> customers = customerRepository.streamAllSummaries()) {
+            customers.forEach(customer -> add(customer.getId(), customer.getName()));
+        }
+        log.info("Customer name suggester built: {} names in {} ms",
+                names.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void add(long id, String name) {
+        if (name != null) {
+            names.putIfAbsent(normalize(name) + SEPARATOR + id, new CustomerSummaryDTO(id, name));
+        }
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Returns up to {@code limit} customers whose name starts with {@code prefix}, ignoring case, in name order.
+     */
+    public List<CustomerSummaryDTO> suggest(String prefix, int limit) {
+        String from = normalize(prefix);
+        List<CustomerSummaryDTO> suggestions = new ArrayList<>(Math.min(limit, 64));
+        for (var entry : names.tailMap(from).entrySet()) {
+            if (suggestions.size() == limit || !entry.getKey().startsWith(from)) {
+                break;
+            }
+            suggestions.add(entry.getValue());
+        }
+        return suggestions;
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.store.search;
+
+import com.example.store.dto.CustomerSummaryDTO;
+import com.example.store.repository.CustomerRepository;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongComparator;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process trigram inverted index over customer names, answering case-insensitive substring
+ * searches without a sequential scan of the customer table.
+ *
+ * <p>Every indexed customer gets a dense document number. Each distinct trigram of a lower-cased
+ * name maps to a sorted {@link IntArrayList} of the documents containing it. A query is answered by
+ * intersecting the posting lists of its trigrams, shortest first, and confirming each candidate with
+ * a substring check. Queries shorter than a trigram fall back to scanning the names in memory.
+ *
+ * <p>Matches are ranked by where the query occurs (start of the name, start of a word, anywhere),
+ * then by name length, then by document number (roughly id order).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerSearchIndex {
+
+    static final int GRAM = 3;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // rank key layout: tier | name length | document number
+    private static final int DOCUMENT_BITS = 40;
+    private static final long DOCUMENT_MASK = (1L << DOCUMENT_BITS) - 1;
+    private static final int LENGTH_BITS = 20;
+    private static final long MAX_LENGTH = (1L << LENGTH_BITS) - 1;
+    private static final LongComparator WORST_FIRST = (a, b) -> Long.compare(b, a);
+
+    private final CustomerRepository customerRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // all guarded by lock
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int documents;
+    private final Long2IntOpenHashMap documentsById = new Long2IntOpenHashMap();
+    private final Long2ObjectOpenHashMap<IntArrayList> postings = new Long2ObjectOpenHashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * One page of ranked matches.
+     *
+     * @param ids   customer ids of the page, best match first
+     * @param total number of customers matching the query
+     */
+    public record Hits(long[] ids, int total) {
+    }
+
+    /**
+     * Loads every customer into the index. Writers block until the load finishes, so customers created
+     * meanwhile are not lost; searches are answered by the caller's fallback until {@link #isReady()}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try (Stream<CustomerSummaryDTO> customers = customerRepository.streamAllSummaries()) {
+            customers.forEach(customer -> addLocked(customer.getId(), customer.getName()));
+            postings.values().forEach(IntArrayList::trim);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Customer search index built: {} customers, {} trigrams in {} ms",
+                documents, postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a newly created customer. Adding an id that is already indexed has no effect.
+     */
+    public void add(long id, String name) {
+        lock.writeLock().lock();
+        try {
+            addLocked(id, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} ranked matches for {@code query}, skipping the first {@code offset}.
+     */
+    public Hits search(String query, int offset, int limit) {
+        String needle = normalize(query);
+        int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+
+        lock.readLock().lock();
+        try {
+            // max-heap holding the best `wanted` rank keys seen so far
+            LongHeapPriorityQueue best = new LongHeapPriorityQueue(Math.min(wanted, 1024), WORST_FIRST);
+            int total = 0;
+            if (needle.length() < GRAM) {
+                for (int doc = 0; doc < documents; doc++) {
+                    total += offer(best, wanted, doc, needle);
+                }
+            } else {
+                IntArrayList candidates = candidates(needle);
+                for (int i = 0; i < candidates.size(); i++) {
+                    total += offer(best, wanted, candidates.getInt(i), needle);
+                }
+            }
+
+            long[] ranked = new long[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.dequeueLong();
+            }
+            int from = Math.min(offset, ranked.length);
+            long[] page = new long[ranked.length - from];
+            for (int i = 0; i < page.length; i++) {
+                page[i] = ids[(int) (ranked[from + i] & DOCUMENT_MASK)];
+            }
+            return new Hits(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(long id, String name) {
+        if (documentsById.containsKey(id)) {
+            return;
+        }
+        if (documents == ids.length) {
+            ids = Arrays.copyOf(ids, documents * 2);
+            names = Arrays.copyOf(names, documents * 2);
+        }
+        int doc = documents++;
+        String normalized = normalize(name);
+        ids[doc] = id;
+        names[doc] = normalized;
+        documentsById.put(id, doc);
+
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            long gram = trigram(normalized, i);
+            IntArrayList list = postings.get(gram);
+            if (list == null) {
+                list = new IntArrayList(4);
+                postings.put(gram, list);
+            }
+            // documents are appended in increasing order, so a repeated trigram only ever meets its own doc
+            if (list.isEmpty() || list.getInt(list.size() - 1) != doc) {
+                list.add(doc);
+            }
+        }
+    }
+
+    /**
+     * Documents containing every trigram of {@code needle}; they still need a substring check.
+     */
+    private IntArrayList candidates(String needle) {
+        LongOpenHashSet grams = new LongOpenHashSet();
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            grams.add(trigram(needle, i));
+        }
+        IntArrayList[] lists = new IntArrayList[grams.size()];
+        int n = 0;
+        for (long gram : grams) {
+            IntArrayList list = postings.get(gram);
+            if (list == null) {
+                return new IntArrayList();
+            }
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+        IntArrayList result = lists[0];
+        for (int i = 1; i < lists.length && !result.isEmpty(); i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Intersects two sorted posting lists, galloping through the longer one.
+     */
+    static IntArrayList intersect(IntArrayList shorter, IntArrayList longer) {
+        IntArrayList result = new IntArrayList(shorter.size());
+        int from = 0;
+        for (int i = 0; i < shorter.size() && from < longer.size(); i++) {
+            int doc = shorter.getInt(i);
+            int step = 1;
+            int to = from;
+            while (to < longer.size() && longer.getInt(to) < doc) {
+                from = to + 1;
+                to += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(longer.elements(), from, Math.min(to + 1, longer.size()), doc);
+            if (position >= 0) {
+                result.add(doc);
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks one candidate and, if it matches, keeps its rank key when it is among the best {@code wanted}.
+     * Returns 1 for a match and 0 otherwise.
+     */
+    private int offer(LongHeapPriorityQueue best, int wanted, int doc, String needle) {
+        String name = names[doc];
+        int position = name.indexOf(needle);
+        if (position < 0) {
+            return 0;
+        }
+        long tier = position == 0 ? 0 : Character.isLetterOrDigit(name.charAt(position - 1)) ? 2 : 1;
+        long key = tier << (DOCUMENT_BITS + LENGTH_BITS)
+                | Math.min(name.length(), MAX_LENGTH) << DOCUMENT_BITS
+                | doc;
+        if (wanted == 0) {
+            return 1;
+        }
+        if (best.size() < wanted) {
+            best.enqueue(key);
+        } else if (key < best.firstLong()) {
+            best.dequeueLong();
+            best.enqueue(key);
+        }
+        return 1;
+    }
+
+    private static long trigram(String s, int i) {
+        return (long) s.charAt(i) << 32 | (long) s.charAt(i + 1) << 16 | s.charAt(i + 2);
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.store.service;
+
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.config.ImportProperties;
+import com.example.store.dto.ImportRowErrorDTO;
+import com.example.store.dto.ImportSummaryDTO;
+import com.example.store.search.CustomerNameSuggester;
+import com.example.store.search.CustomerSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams customers or products from a CSV upload into the database in chunked JDBC batches.
+ * Only one chunk of rows is held in memory at a time; bad rows are reported and skipped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvImportService {
+
+    static final String INSERT_CUSTOMER = "INSERT INTO customer (name) VALUES (?)";
+    static final String INSERT_PRODUCT = "INSERT INTO product (description) VALUES (?)";
+
+    private static final int MAX_VALUE_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportProperties properties;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerNameSuggester customerNameSuggester;
+    private final AggregateVersions aggregateVersions;
+
+    /**
+     * Receives the generated id and value of every row once its chunk has committed.
+     */
+    @FunctionalInterface
+    private interface InsertedRows {
+        void accept(long id, String value);
+    }
+
+    /**
+     * Expects a header row with a {@code name} column.
+     */
+    public ImportSummaryDTO importCustomers(InputStream csv) throws IOException {
+        log.info("Importing customers from CSV");
+        return importRows(csv, "name", INSERT_CUSTOMER, Aggregate.CUSTOMERS, (id, name) -> {
+            customerSearchIndex.add(id, name);
+            customerNameSuggester.add(id, name);
+        });
+    }
+
+    /**
+     * Expects a header row with a {@code description} column.
+     */
+    public ImportSummaryDTO importProducts(InputStream csv) throws IOException {
+        log.info("Importing products from CSV");
+        return importRows(csv, "description", INSERT_PRODUCT, Aggregate.PRODUCTS, null);
+    }
+
+    private ImportSummaryDTO importRows(InputStream csv, String column, String insertSql, Aggregate aggregate,
+                                        InsertedRows inserted) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+        ImportSummaryDTO summary = new ImportSummaryDTO();
+
+        List<String> header = reader.readRecord();
+        int columnIndex = header == null ? -1 : indexOf(header, column);
+        if (columnIndex < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CSV header must contain a '" + column + "' column");
+        }
+
+        List<Long> rows = new ArrayList<>(properties.getChunkSize());
+        List<String> values = new ArrayList<>(properties.getChunkSize());
+        long row = 1;
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            row++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            summary.setRowsRead(summary.getRowsRead() + 1);
+
+            String error = validate(record, columnIndex, column);
+            if (error != null) {
+                reject(summary, row, error);
+                continue;
+            }
+            rows.add(row);
+            values.add(record.get(columnIndex).strip());
+            if (values.size() == properties.getChunkSize()) {
+                writeChunk(insertSql, aggregate, rows, values, inserted, summary);
+            }
+        }
+        writeChunk(insertSql, aggregate, rows, values, inserted, summary);
+
+        log.info("CSV import finished: {} rows read, {} imported, {} rejected",
+                summary.getRowsRead(), summary.getImported(), summary.getRejected());
+        return summary;
+    }
+
+    private static int indexOf(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            // tolerate a UTF-8 byte order mark in front of the first column name
+            String name = header.get(i).replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT);
+            if (name.equals(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String validate(List<String> record, int columnIndex, String column) {
+        if (record.size() <= columnIndex || record.get(columnIndex).isBlank()) {
+            return column + " is required";
+        }
+        if (record.get(columnIndex).strip().length() > MAX_VALUE_LENGTH) {
+            return column + " must be at most " + MAX_VALUE_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    /**
+     * Inserts the buffered rows in one transaction and empties the buffers. When {@code inserted} is set
+     * the generated ids are read back and handed to it after the commit.
+     */
+    private void writeChunk(String insertSql, Aggregate aggregate, List<Long> rows, List<String> values,
+                            InsertedRows inserted, ImportSummaryDTO summary) {
+        if (values.isEmpty()) {
+            return;
+        }
+        try {
+            if (inserted == null) {
+                transactionTemplate.executeWithoutResult(status -> insert(insertSql, values));
+            } else {
+                long[] ids = transactionTemplate.execute(status -> insertReturningIds(insertSql, values));
+                for (int i = 0; i < values.size(); i++) {
+                    inserted.accept(ids[i], values.get(i));
+                }
+            }
+            aggregateVersions.bump(aggregate);
+            summary.setImported(summary.getImported() + values.size());
+        } catch (DataAccessException ex) {
+            log.error("Failed to import chunk of {} rows: {}", values.size(), ex.getMessage(), ex);
+            rows.forEach(row -> reject(summary, row, "Database error"));
+        }
+        rows.clear();
+        values.clear();
+    }
+
+    private void insert(String insertSql, List<String> values) {
+        jdbcTemplate.batchUpdate(insertSql, setter(values));
+    }
+
+    private long[] insertReturningIds(String insertSql, List<String> values) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(insertSql, new String[] {"id"}),
+                setter(values),
+                keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        long[] ids = new long[values.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ((Number) keys.get(i).get("id")).longValue();
+        }
+        return ids;
+    }
+
+    private static BatchPreparedStatementSetter setter(List<String> values) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, values.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return values.size();
+            }
+        };
+    }
+
+    private void reject(ImportSummaryDTO summary, long row, String message) {
+        summary.setRejected(summary.getRejected() + 1);
+        if (summary.getErrors().size() < properties.getMaxReportedErrors()) {
+            summary.getErrors().add(new ImportRowErrorDTO(row, message));
+        } else {
+            summary.setErrorsTruncated(true);
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.example.store.service;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.config.CacheConfig;
+import com.example.store.dto.CursorPageDTO;
 import com.example.store.dto.CustomerCreateDTO;
 import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.CustomerOrderDTO;
+import com.example.store.dto.CustomerOrderRowDTO;
+import com.example.store.dto.CustomerSummaryDTO;
 import com.example.store.entity.Customer;
 import com.example.store.mapper.CustomerMapper;
 import com.example.store.repository.CustomerRepository;
+import com.example.store.repository.OrderRepository;
+import com.example.store.search.CustomerNameSuggester;
+import com.example.store.search.CustomerSearchIndex;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
@@ -14,39 +25,246 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
 
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    static final int MAX_SUGGESTIONS = 50;
+    static final int MAX_ORDERS_PAGE_SIZE = 500;
+
     private final CustomerRepository customerRepository;
+    private final OrderRepository orderRepository;
     private final CustomerMapper customerMapper;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerNameSuggester customerNameSuggester;
+    private final AggregateVersions aggregateVersions;
 
-    @Cacheable("customers")
+    /**
+     * Every customer with their orders, read with two projection queries (customers, then order rows) and
+     * joined in memory on the customer id, so no {@code Customer} or {@code Order} entity is loaded.
+     */
+    @Cacheable(CacheConfig.CUSTOMERS)
     public List<CustomerDTO> getAllCustomers() {
-        log.info("Fetching all customers");
-        List<CustomerDTO> customers = customerMapper.customersToCustomerDTOs(customerRepository.findAll());
+        return getAllCustomers(FieldSelection.ALL_CUSTOMER_FIELDS);
+    }
+
+    /**
+     * Every customer in the requested shape. Without {@code orders} this is a single id/name projection.
+     */
+    public List<CustomerDTO> getAllCustomers(FieldSelection selection) {
+        log.info("Fetching all customers ({})", selection);
+        Long2ObjectOpenHashMap<List<CustomerOrderDTO>> ordersByCustomer = selection.expands(FieldSelection.ORDERS)
+                ? ordersByCustomer(orderRepository.findAllCustomerOrderRows())
+                : null;
+
+        List<CustomerSummaryDTO> summaries = customerRepository.findAllSummaries();
+        List<CustomerDTO> customers = new ArrayList<>(summaries.size());
+        for (CustomerSummaryDTO summary : summaries) {
+            CustomerDTO customer = toDTO(summary, selection);
+            if (ordersByCustomer != null) {
+                List<CustomerOrderDTO> orders = ordersByCustomer.get(summary.getId().longValue());
+                customer.setOrders(orders == null ? new ArrayList<>() : orders);
+            }
+            customers.add(customer);
+        }
         log.debug("Fetched {} customers", customers.size());
         return customers;
     }
 
     public Page<CustomerDTO> getAllCustomers(int page, int size) {
-        log.info("Fetching customers page={} size={}", page, size);
-        Page<CustomerDTO> paged = customerRepository.findAll(PageRequest.of(page, size))
-                .map(customerMapper::customerToCustomerDTO);
+        return getAllCustomers(page, size, FieldSelection.ALL_CUSTOMER_FIELDS);
+    }
+
+    /**
+     * One page of customers; without {@code orders} the page and its count come from an id/name projection.
+     */
+    public Page<CustomerDTO> getAllCustomers(int page, int size, FieldSelection selection) {
+        log.info("Fetching customers page={} size={} ({})", page, size, selection);
+        Page<CustomerDTO> paged = selection.expands(FieldSelection.ORDERS)
+                ? customerRepository.findAll(PageRequest.of(page, size))
+                        .map(customer -> trim(customerMapper.customerToCustomerDTO(customer), selection))
+                : customerRepository.findSummaries(PageRequest.of(page, size))
+                        .map(summary -> toDTO(summary, selection));
         log.debug("Fetched {} customers in page {}", paged.getContent().size(), page);
         return paged;
     }
 
-    public List<CustomerDTO> searchCustomers(String query) {
-        log.info("Searching customers by query: {}", query);
-        List<Customer> customers = customerRepository.findByNameContainingIgnoreCase(query);
+    public List<CustomerDTO> searchCustomers(String query, int page, int size) {
+        return searchCustomers(query, page, size, FieldSelection.ALL_CUSTOMER_FIELDS);
+    }
+
+    /**
+     * Case-insensitive substring search, best matches first. Answered from the in-memory
+     * {@link CustomerSearchIndex}; falls back to the database until the index has been built.
+     * Without {@code orders} the hits are reloaded as id/name projections.
+     */
+    public List<CustomerDTO> searchCustomers(String query, int page, int size, FieldSelection selection) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must be at least 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        log.info("Searching customers by query: {} page={} size={} ({})", query, page, size, selection);
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+
+        List<CustomerDTO> customers;
+        if (customerSearchIndex.isReady()) {
+            long[] ids = customerSearchIndex.search(query, offset, size).ids();
+            customers = selection.expands(FieldSelection.ORDERS)
+                    ? toDTOs(loadInOrder(ids), selection)
+                    : summariesInOrder(ids).stream().map(summary -> toDTO(summary, selection)).toList();
+        } else {
+            log.debug("Customer search index not ready, querying the database");
+            List<Customer> all = customerRepository.findByNameContainingIgnoreCase(query);
+            int end = (int) Math.min((long) offset + size, all.size());
+            customers = toDTOs(all.subList(Math.min(offset, all.size()), end), selection);
+        }
         if (customers.isEmpty()) {
             log.warn("No customers found matching query '{}'", query);
         }
-        return customerMapper.customersToCustomerDTOs(customers);
+        return customers;
+    }
+
+    /**
+     * Type-ahead: up to {@code limit} customers whose name starts with {@code prefix}, served from memory.
+     */
+    public List<CustomerSummaryDTO> suggestCustomers(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        log.debug("Suggesting customers for prefix: {} limit={}", prefix, limit);
+        return customerNameSuggester.suggest(prefix, limit);
+    }
+
+    /**
+     * Keyset page of one customer's orders, oldest first, read straight from the order table so
+     * {@code Customer.orders} is never loaded. The customer is only looked up when the page comes back
+     * empty, to tell an unknown customer (404) from one without further orders.
+     */
+    public CursorPageDTO<CustomerOrderDTO> getCustomerOrders(Long customerId, String after, int limit) {
+        if (limit < 1 || limit > MAX_ORDERS_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_ORDERS_PAGE_SIZE);
+        }
+        long afterId = CursorCodec.decode(after);
+        log.info("Fetching orders of customer id={} after id={} limit={}", customerId, afterId, limit);
+
+        // Read one extra row to learn whether another page exists without a count query
+        List<CustomerOrderRowDTO> rows =
+                orderRepository.findCustomerOrderRowsAfter(customerId, afterId, PageRequest.of(0, limit + 1));
+        if (rows.isEmpty() && !customerRepository.existsById(customerId)) {
+            log.error("Customer not found with id={}", customerId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        }
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<CustomerOrderDTO> orders = new ArrayList<>(rows.size());
+        for (CustomerOrderRowDTO row : rows) {
+            CustomerOrderDTO order = new CustomerOrderDTO();
+            order.setId(row.getOrderId());
+            order.setDescription(row.getDescription());
+            orders.add(order);
+        }
+        String nextCursor = hasNext ? CursorCodec.encode(rows.get(rows.size() - 1).getOrderId()) : null;
+        log.debug("Fetched {} orders of customer id={}, hasNext={}", orders.size(), customerId, hasNext);
+        return new CursorPageDTO<>(orders, nextCursor);
+    }
+
+    private static Long2ObjectOpenHashMap<List<CustomerOrderDTO>> ordersByCustomer(List<CustomerOrderRowDTO> rows) {
+        Long2ObjectOpenHashMap<List<CustomerOrderDTO>> ordersByCustomer = new Long2ObjectOpenHashMap<>();
+        for (CustomerOrderRowDTO row : rows) {
+            CustomerOrderDTO order = new CustomerOrderDTO();
+            order.setId(row.getOrderId());
+            order.setDescription(row.getDescription());
+            List<CustomerOrderDTO> orders = ordersByCustomer.get(row.getCustomerId().longValue());
+            if (orders == null) {
+                orders = new ArrayList<>(4);
+                ordersByCustomer.put(row.getCustomerId().longValue(), orders);
+            }
+            orders.add(order);
+        }
+        return ordersByCustomer;
+    }
+
+    /**
+     * Maps loaded entities; {@code Customer.orders} is only touched when the selection expands it.
+     */
+    private List<CustomerDTO> toDTOs(List<Customer> customers, FieldSelection selection) {
+        if (!selection.expands(FieldSelection.ORDERS)) {
+            return customers.stream()
+                    .map(customer -> toDTO(new CustomerSummaryDTO(customer.getId(), customer.getName()), selection))
+                    .toList();
+        }
+        return customerMapper.customersToCustomerDTOs(customers).stream()
+                .map(customer -> trim(customer, selection))
+                .toList();
+    }
+
+    private static CustomerDTO toDTO(CustomerSummaryDTO summary, FieldSelection selection) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setId(summary.getId());
+        if (selection.includes(FieldSelection.NAME)) {
+            customer.setName(summary.getName());
+        }
+        return customer;
+    }
+
+    private static CustomerDTO trim(CustomerDTO customer, FieldSelection selection) {
+        if (!selection.includes(FieldSelection.NAME)) {
+            customer.setName(null);
+        }
+        return customer;
+    }
+
+    private List<CustomerSummaryDTO> summariesInOrder(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, CustomerSummaryDTO> byId = customerRepository.findSummariesByIdIn(idList).stream()
+                .collect(Collectors.toMap(CustomerSummaryDTO::getId, Function.identity()));
+        List<CustomerSummaryDTO> ordered = new ArrayList<>(ids.length);
+        for (Long id : idList) {
+            CustomerSummaryDTO summary = byId.get(id);
+            if (summary != null) {
+                ordered.add(summary);
+            }
+        }
+        return ordered;
+    }
+
+    private List<Customer> loadInOrder(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, Customer> byId = customerRepository.findAllById(idList).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        List<Customer> ordered = new ArrayList<>(ids.length);
+        for (Long id : idList) {
+            Customer customer = byId.get(id);
+            if (customer != null) {
+                ordered.add(customer);
+            }
+        }
+        return ordered;
     }
 
     public CustomerDTO createCustomer(CustomerCreateDTO dto) {
@@ -54,6 +272,9 @@ public class CustomerService {
         Customer entity = customerMapper.customerCreateDtoToCustomer(dto);
         Customer saved = customerRepository.save(entity);
         log.info("Customer created with id={}", saved.getId());
+        aggregateVersions.bump(Aggregate.CUSTOMERS);
+        customerSearchIndex.add(saved.getId(), saved.getName());
+        customerNameSuggester.add(saved.getId(), saved.getName());
         return customerMapper.customerToCustomerDTO(saved);
     }
 
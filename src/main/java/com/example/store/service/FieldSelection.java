@@ -0,0 +1,133 @@
+package com.example.store.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Sparse fieldset requested through {@code fields=} and {@code expand=}.
+ *
+ * <ul>
+ *   <li>{@code fields}: plain fields to return, comma separated; {@code id} is always returned.
+ *   Defaults to every plain field.</li>
+ *   <li>{@code expand}: associations to embed. Defaults to every association when neither parameter is
+ *   given, so existing callers keep the full shape, and to none as soon as {@code fields} is given.
+ *   {@code expand=} (empty) asks for no association.</li>
+ * </ul>
+ *
+ * Services use the selection to pick a cheaper query, not only to trim the response: an association that
+ * is not expanded is never loaded.
+ */
+public final class FieldSelection {
+
+    public static final String ID = "id";
+    public static final String NAME = "name";
+    public static final String DESCRIPTION = "description";
+    public static final String ORDERS = "orders";
+    public static final String CUSTOMER = "customer";
+    public static final String PRODUCTS = "products";
+
+    private static final Set<String> CUSTOMER_FIELDS = Set.of(ID, NAME);
+    private static final Set<String> CUSTOMER_ASSOCIATIONS = Set.of(ORDERS);
+    private static final Set<String> ORDER_FIELDS = Set.of(ID, DESCRIPTION);
+    private static final Set<String> ORDER_ASSOCIATIONS = Set.of(CUSTOMER, PRODUCTS);
+
+    public static final FieldSelection ALL_CUSTOMER_FIELDS = all(CUSTOMER_FIELDS, CUSTOMER_ASSOCIATIONS);
+    public static final FieldSelection ALL_ORDER_FIELDS = all(ORDER_FIELDS, ORDER_ASSOCIATIONS);
+
+    private final Set<String> fields;
+    private final Set<String> expand;
+    private final boolean full;
+
+    private FieldSelection(Set<String> fields, Set<String> expand, boolean full) {
+        this.fields = fields;
+        this.expand = expand;
+        this.full = full;
+    }
+
+    /**
+     * Customer fields {@code id}, {@code name}; association {@code orders}.
+     *
+     * @throws ResponseStatusException 400 for an unknown name
+     */
+    public static FieldSelection forCustomer(String fields, String expand) {
+        return parse(fields, expand, CUSTOMER_FIELDS, CUSTOMER_ASSOCIATIONS);
+    }
+
+    /**
+     * Order fields {@code id}, {@code description}; associations {@code customer}, {@code products}.
+     *
+     * @throws ResponseStatusException 400 for an unknown name
+     */
+    public static FieldSelection forOrder(String fields, String expand) {
+        return parse(fields, expand, ORDER_FIELDS, ORDER_ASSOCIATIONS);
+    }
+
+    private static FieldSelection all(Set<String> fields, Set<String> associations) {
+        return new FieldSelection(new TreeSet<>(fields), new TreeSet<>(associations), true);
+    }
+
+    private static FieldSelection parse(String fields, String expand, Set<String> allowedFields,
+                                        Set<String> allowedAssociations) {
+        if (fields == null && expand == null) {
+            return all(allowedFields, allowedAssociations);
+        }
+        Set<String> selectedFields = fields == null ? new TreeSet<>(allowedFields) : names(fields, allowedFields);
+        selectedFields.add(ID);
+        Set<String> selectedAssociations = expand == null ? new TreeSet<>() : names(expand, allowedAssociations);
+        boolean full = selectedFields.equals(allowedFields) && selectedAssociations.equals(allowedAssociations);
+        return new FieldSelection(selectedFields, selectedAssociations, full);
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    public boolean expands(String association) {
+        return expand.contains(association);
+    }
+
+    /**
+     * True when nothing is left out, so the regular (cached) read path applies.
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Canonical form, equal for equal selections whatever order the names were given in.
+     */
+    public String key() {
+        return "fields=" + String.join(",", fields) + ";expand=" + String.join(",", expand);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FieldSelection selection && key().equals(selection.key());
+    }
+
+    @Override
+    public int hashCode() {
+        return key().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+
+    private static Set<String> names(String list, Set<String> allowed) {
+        Set<String> names = new TreeSet<>();
+        for (String name : Arrays.stream(list.split(",")).map(String::strip).filter(s -> !s.isEmpty()).toList()) {
+            if (!allowed.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + name + "', expected one of " + new TreeSet<>(allowed));
+            }
+            names.add(name);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.store.service;
+
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.config.OrderBatchProperties;
+import com.example.store.dto.OrderBatchItemResultDTO;
+import com.example.store.dto.OrderBatchResultDTO;
+import com.example.store.dto.OrderCreateDTO;
+import com.example.store.dto.ProductDTO;
+import com.example.store.repository.CustomerRepository;
+import com.example.store.stats.OrderStatistics;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bulk order ingestion: validates a whole batch with set-based lookups, then writes orders and their
+ * order_product rows as JDBC batches, one transaction per chunk.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderBatchService {
+
+    static final String INSERT_ORDER = "INSERT INTO \"order\" (description, customer_id) VALUES (?, ?)";
+    static final String INSERT_ORDER_PRODUCT = "INSERT INTO order_product (order_id, product_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerRepository customerRepository;
+    private final ProductService productService;
+    private final Validator validator;
+    private final OrderBatchProperties properties;
+    private final AggregateVersions aggregateVersions;
+    private final OrderStatistics orderStatistics;
+
+    /**
+     * An item that passed validation, waiting for its generated id.
+     */
+    private record PendingOrder(int index, OrderCreateDTO dto, long[] productIds) {
+    }
+
+    public OrderBatchResultDTO createOrders(List<OrderCreateDTO> orders) {
+        if (orders.size() > properties.getMaxItems()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch may contain at most " + properties.getMaxItems() + " orders");
+        }
+        log.info("Ingesting batch of {} orders", orders.size());
+
+        OrderBatchItemResultDTO[] results = new OrderBatchItemResultDTO[orders.size()];
+        List<PendingOrder> pending = validate(orders, results);
+
+        int chunkSize = properties.getChunkSize();
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<PendingOrder> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            try {
+                long[] ids = transactionTemplate.execute(status -> insertChunk(chunk));
+                aggregateVersions.bump(Aggregate.ORDERS);
+                for (int i = 0; i < chunk.size(); i++) {
+                    PendingOrder order = chunk.get(i);
+                    orderStatistics.recordOrder(ids[i], order.dto().getCustomerId(), order.productIds());
+                    results[order.index()] = OrderBatchItemResultDTO.created(order.index(), ids[i]);
+                }
+            } catch (DataAccessException ex) {
+                log.error("Failed to write chunk of {} orders: {}", chunk.size(), ex.getMessage(), ex);
+                for (PendingOrder order : chunk) {
+                    results[order.index()] = OrderBatchItemResultDTO.rejected(order.index(), List.of("Database error"));
+                }
+            }
+        }
+
+        int created = (int) Arrays.stream(results)
+                .filter(result -> result.getStatus() == OrderBatchItemResultDTO.Status.CREATED)
+                .count();
+        log.info("Batch finished: {} created, {} rejected", created, results.length - created);
+        return new OrderBatchResultDTO(created, results.length - created, Arrays.asList(results));
+    }
+
+    /**
+     * Fills {@code results} with a rejection for every invalid item and returns the valid ones.
+     * Customer and product ids of the whole batch are checked with one lookup each.
+     */
+    private List<PendingOrder> validate(List<OrderCreateDTO> orders, OrderBatchItemResultDTO[] results) {
+        LongSet customerIds = new LongOpenHashSet();
+        LongSet productIds = new LongOpenHashSet();
+        for (OrderCreateDTO order : orders) {
+            if (order == null) {
+                continue;
+            }
+            if (order.getCustomerId() != null) {
+                customerIds.add(order.getCustomerId().longValue());
+            }
+            if (order.getProductIds() != null) {
+                order.getProductIds().stream().filter(Objects::nonNull).forEach(id -> productIds.add(id.longValue()));
+            }
+        }
+        LongSet knownCustomers = customerIds.isEmpty()
+                ? new LongOpenHashSet()
+                : new LongOpenHashSet(customerRepository.findExistingIds(new ArrayList<>(customerIds)));
+        LongSet knownProducts = new LongOpenHashSet();
+        if (!productIds.isEmpty()) {
+            for (ProductDTO product : productService.getProductsByIds(new ArrayList<>(productIds))) {
+                knownProducts.add(product.getId().longValue());
+            }
+        }
+
+        List<PendingOrder> pending = new ArrayList<>(orders.size());
+        for (int index = 0; index < orders.size(); index++) {
+            OrderCreateDTO order = orders.get(index);
+            List<String> errors = order == null ? List.of("Order is required") : errors(order, knownCustomers, knownProducts);
+            if (errors.isEmpty()) {
+                pending.add(new PendingOrder(index, order, distinctProductIds(order.getProductIds())));
+            } else {
+                results[index] = OrderBatchItemResultDTO.rejected(index, errors);
+            }
+        }
+        return pending;
+    }
+
+    private List<String> errors(OrderCreateDTO order, LongSet knownCustomers, LongSet knownProducts) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<OrderCreateDTO> violation : validator.validate(order)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (order.getCustomerId() != null && !knownCustomers.contains(order.getCustomerId().longValue())) {
+            errors.add("Invalid customer ID");
+        }
+        if (order.getProductIds() != null) {
+            List<Long> unknown = order.getProductIds().stream()
+                    .filter(id -> id == null || !knownProducts.contains(id.longValue()))
+                    .toList();
+            if (!unknown.isEmpty()) {
+                errors.add("Invalid product IDs: " + unknown);
+            }
+        }
+        return errors;
+    }
+
+    private static long[] distinctProductIds(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new long[0];
+        }
+        LongLinkedOpenHashSet distinct = new LongLinkedOpenHashSet(productIds.size());
+        productIds.forEach(id -> distinct.add(id.longValue()));
+        return distinct.toLongArray();
+    }
+
+    /**
+     * Inserts one chunk of orders and their product links; returns the generated order ids in chunk order.
+     */
+    private long[] insertChunk(List<PendingOrder> chunk) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_ORDER, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OrderCreateDTO order = chunk.get(i).dto();
+                        ps.setString(1, order.getDescription());
+                        ps.setLong(2, order.getCustomerId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        long[] ids = new long[chunk.size()];
+        LongArrayList links = new LongArrayList();
+        for (int i = 0; i < chunk.size(); i++) {
+            ids[i] = ((Number) keys.get(i).get("id")).longValue();
+            for (long productId : chunk.get(i).productIds()) {
+                links.add(ids[i]);
+                links.add(productId);
+            }
+        }
+
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ORDER_PRODUCT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, links.getLong(2 * i));
+                    ps.setLong(2, links.getLong(2 * i + 1));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return links.size() / 2;
+                }
+            });
+        }
+        return ids;
+    }
+}
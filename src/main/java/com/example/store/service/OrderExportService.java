@@ -0,0 +1,63 @@
+package com.example.store.service;
+
+import com.example.store.dto.OrderDTO;
+import com.example.store.entity.Order;
+import com.example.store.mapper.OrderMapper;
+import com.example.store.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every order as newline-delimited JSON while keeping only one chunk of entities in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream out) throws IOException {
+        log.info("Exporting all orders as NDJSON");
+        long count = 0;
+        try (Stream<Order> orders = orderRepository.streamAllWithCustomer();
+             SequenceWriter writer = objectMapper.writerFor(OrderDTO.class)
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                writer.write(orderMapper.orderToOrderDTO(iterator.next()));
+                if (++count % CHUNK_SIZE == 0) {
+                    // Push the chunk to the client and drop the entities it was built from
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        // the writer only separates records; terminate the last one, unless there was none
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        log.info("Exported {} orders", count);
+        return count;
+    }
+}
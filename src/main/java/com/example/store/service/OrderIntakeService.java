@@ -0,0 +1,209 @@
+package com.example.store.service;
+
+import com.example.store.config.OrderIntakeProperties;
+import com.example.store.dto.OrderBatchItemResultDTO;
+import com.example.store.dto.OrderBatchResultDTO;
+import com.example.store.dto.OrderCreateDTO;
+import com.example.store.dto.OrderIntakeStatusDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Asynchronous order intake with group commit. Submitted orders go on a bounded in-memory queue and are
+ * acknowledged straight away; a single writer thread drains the queue and commits everything it finds
+ * (up to {@code max-batch-size}) through {@link OrderBatchService}, so many orders share one transaction.
+ *
+ * <p>Queued orders are lost if the process dies before the writer commits them, which is why callers
+ * get a tracking id and only treat an order as durable once its status is {@code CREATED}.
+ */
+@Slf4j
+@Service
+public class OrderIntakeService implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(200);
+
+    private final OrderBatchService orderBatchService;
+    private final OrderIntakeProperties properties;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, OrderIntakeStatusDTO> statuses;
+
+    // submissions hold the read lock from the stopping check to the enqueue; stop() takes the write lock to
+    // set stopping, so nothing can be queued after the writer may have seen "stopping and empty" and exited
+    private final ReadWriteLock intakeLock = new ReentrantReadWriteLock();
+
+    private volatile boolean stopping;
+    private volatile Thread writer;
+
+    private record Submission(String trackingId, OrderCreateDTO order) {
+    }
+
+    public OrderIntakeService(OrderBatchService orderBatchService, OrderIntakeProperties properties) {
+        this.orderBatchService = orderBatchService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedStatuses())
+                .expireAfterWrite(properties.getStatusTtl())
+                .build();
+    }
+
+    /**
+     * Queues an order that already passed bean validation. Customer and product ids are checked by the
+     * writer; unknown ids show up as a {@code REJECTED} status.
+     *
+     * @throws ResponseStatusException 429 when the queue is full, 503 while shutting down
+     */
+    public OrderIntakeStatusDTO submit(OrderCreateDTO order) {
+        String trackingId = UUID.randomUUID().toString();
+        OrderIntakeStatusDTO queued = OrderIntakeStatusDTO.queued(trackingId);
+        intakeLock.readLock().lock();
+        try {
+            if (stopping) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Order intake is shutting down");
+            }
+            // record the status first so the writer's update can never be overwritten by it
+            statuses.put(trackingId, queued);
+            if (!queue.offer(new Submission(trackingId, order))) {
+                statuses.invalidate(trackingId);
+                log.warn("Order intake queue is full ({} orders), rejecting submission",
+                        properties.getQueueCapacity());
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Order intake queue is full");
+            }
+        } finally {
+            intakeLock.readLock().unlock();
+        }
+        log.debug("Queued order {} ({} waiting)", trackingId, queue.size());
+        return queued;
+    }
+
+    public OrderIntakeStatusDTO getStatus(String trackingId) {
+        OrderIntakeStatusDTO status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired tracking id");
+        }
+        return status;
+    }
+
+    public int queuedOrders() {
+        return queue.size();
+    }
+
+    /**
+     * Waits up to {@code timeout} for an order, keeps gathering for up to {@code max-wait} or until the batch
+     * is full, then commits the batch. Returns the number of orders handled.
+     */
+    int writeNextBatch(Duration timeout) throws InterruptedException {
+        Submission first = queue.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return 0;
+        }
+        int maxBatchSize = properties.getMaxBatchSize();
+        List<Submission> batch = new ArrayList<>(Math.min(maxBatchSize, queue.size() + 1));
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() == maxBatchSize || remaining <= 0) {
+                break;
+            }
+            Submission next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        write(batch);
+        return batch.size();
+    }
+
+    private void write(List<Submission> batch) {
+        List<OrderCreateDTO> orders = batch.stream().map(Submission::order).toList();
+        try {
+            OrderBatchResultDTO result = orderBatchService.createOrders(orders);
+            for (OrderBatchItemResultDTO item : result.getResults()) {
+                String trackingId = batch.get(item.getIndex()).trackingId();
+                statuses.put(trackingId, item.getStatus() == OrderBatchItemResultDTO.Status.CREATED
+                        ? OrderIntakeStatusDTO.created(trackingId, item.getOrderId())
+                        : OrderIntakeStatusDTO.rejected(trackingId, item.getErrors()));
+            }
+            log.debug("Intake batch of {} orders: {} created, {} rejected",
+                    batch.size(), result.getCreated(), result.getRejected());
+        } catch (Throwable ex) {
+            // an Error too: letting it end the writer thread would leave later submissions queued forever
+            log.error("Failed to write intake batch of {} orders: {}", batch.size(), ex.getMessage(), ex);
+            for (Submission submission : batch) {
+                statuses.put(submission.trackingId(),
+                        OrderIntakeStatusDTO.rejected(submission.trackingId(), List.of("Internal error")));
+            }
+        }
+    }
+
+    private void drain() {
+        // keep going after stop() until everything accepted so far has been written
+        while (!stopping || !queue.isEmpty()) {
+            try {
+                writeNextBatch(POLL_TIMEOUT);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.warn("Order intake writer interrupted with {} orders queued", queue.size());
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        stopping = false;
+        Thread thread = new Thread(this::drain, "order-intake-writer");
+        thread.start();
+        writer = thread;
+        log.info("Order intake writer started (queue capacity {}, batches of up to {})",
+                properties.getQueueCapacity(), properties.getMaxBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        intakeLock.writeLock().lock();
+        try {
+            stopping = true;
+        } finally {
+            intakeLock.writeLock().unlock();
+        }
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Order intake writer did not drain within {}; {} orders left", properties.getShutdownTimeout(),
+                    queue.size());
+            thread.interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.store.service;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.dto.CursorPageDTO;
+import com.example.store.dto.CustomerOrderRowDTO;
 import com.example.store.dto.OrderCreateDTO;
+import com.example.store.dto.OrderCustomerDTO;
 import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
 import com.example.store.entity.Customer;
 import com.example.store.entity.Order;
 import com.example.store.entity.Product;
@@ -9,12 +15,15 @@ import com.example.store.mapper.OrderMapper;
 import com.example.store.repository.CustomerRepository;
 import com.example.store.repository.OrderRepository;
 import com.example.store.repository.ProductRepository;
+import com.example.store.stats.OrderStatistics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -22,26 +31,86 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderService {
 
+    static final int MAX_PAGE_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final AggregateVersions aggregateVersions;
+    private final OrderStatistics orderStatistics;
 
     public List<OrderDTO> getAllOrders() {
         log.info("Fetching all orders");
-        List<OrderDTO> orders = orderMapper.ordersToOrderDTOs(orderRepository.findAll());
+        List<OrderDTO> orders = orderMapper.ordersToOrderDTOs(orderRepository.findAllWithCustomerAndProducts());
         log.debug("Fetched {} orders", orders.size());
         return orders;
     }
 
+    /**
+     * Every order in the requested shape. Unless {@code products} is expanded this is one projection query,
+     * joined with the customer only when {@code customer} is expanded.
+     */
+    public List<OrderDTO> getAllOrders(FieldSelection selection) {
+        if (selection.expands(FieldSelection.PRODUCTS)) {
+            return getAllOrders().stream().map(order -> trim(order, selection)).toList();
+        }
+        log.info("Fetching all orders ({})", selection);
+        List<CustomerOrderRowDTO> rows = selection.expands(FieldSelection.CUSTOMER)
+                ? orderRepository.findAllCustomerOrderRowsWithName()
+                : orderRepository.findAllCustomerOrderRows();
+        return rows.stream().map(row -> toDTO(row, selection)).toList();
+    }
+
+    public CursorPageDTO<OrderDTO> getOrdersPage(String after, int limit) {
+        return getOrdersPage(after, limit, FieldSelection.ALL_ORDER_FIELDS);
+    }
+
+    public CursorPageDTO<OrderDTO> getOrdersPage(String after, int limit, FieldSelection selection) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = CursorCodec.decode(after);
+        log.info("Fetching orders page after id={} limit={} ({})", afterId, limit, selection);
+
+        // Read one extra id to learn whether another page exists without a count query
+        List<Long> ids = orderRepository.findIdsAfter(afterId, PageRequest.of(0, limit + 1));
+        boolean hasNext = ids.size() > limit;
+        if (hasNext) {
+            ids = ids.subList(0, limit);
+        }
+        if (ids.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        List<OrderDTO> orders = findByIds(ids, selection);
+        String nextCursor = hasNext ? CursorCodec.encode(ids.get(ids.size() - 1)) : null;
+        log.debug("Fetched {} orders, hasNext={}", orders.size(), hasNext);
+        return new CursorPageDTO<>(orders, nextCursor);
+    }
+
     public OrderDTO getOrderById(Long id) {
-        log.info("Fetching order by id={}", id);
+        return getOrderById(id, FieldSelection.ALL_ORDER_FIELDS);
+    }
+
+    public OrderDTO getOrderById(Long id, FieldSelection selection) {
+        log.info("Fetching order by id={} ({})", id, selection);
+        if (!selection.expands(FieldSelection.PRODUCTS)) {
+            List<OrderDTO> found = findByIds(List.of(id), selection);
+            if (found.isEmpty()) {
+                log.error("Order not found with id={}", id);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
+            }
+            return found.get(0);
+        }
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Order not found with id={}", id);
                     return new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
                 });
-        return orderMapper.orderToOrderDTO(order);
+        return trim(orderMapper.orderToOrderDTO(order), selection);
     }
 
     public OrderDTO createOrder(OrderCreateDTO dto) {
@@ -51,17 +120,65 @@ public class OrderService {
         Customer customer = customerRepository.findById(dto.getCustomerId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid customer ID"));
 
-        List<Product> products = dto.getProductIds() == null
+        // Products come from the catalog cache; the order only needs references to write order_product rows
+        List<ProductDTO> products = dto.getProductIds() == null
                 ? List.of()
-                : productRepository.findAllById(dto.getProductIds());
+                : productService.getProductsByIds(dto.getProductIds());
+        List<Product> productRefs = new ArrayList<>(products.size());
+        long[] productIds = new long[products.size()];
+        for (int i = 0; i < products.size(); i++) {
+            productIds[i] = products.get(i).getId();
+            productRefs.add(productRepository.getReferenceById(productIds[i]));
+        }
 
         Order order = new Order();
         order.setDescription(dto.getDescription());
         order.setCustomer(customer);
-        order.setProducts(products);
+        order.setProducts(productRefs);
 
         Order saved = orderRepository.save(order);
         log.info("Order created with id={} for customerId={}", saved.getId(), dto.getCustomerId());
-        return orderMapper.orderToOrderDTO(saved);
+        aggregateVersions.bump(Aggregate.ORDERS);
+        orderStatistics.recordOrder(saved.getId(), customer.getId(), productIds);
+        OrderDTO created = orderMapper.orderToOrderDTOWithoutProducts(saved);
+        created.setProducts(products);
+        return created;
+    }
+
+    private List<OrderDTO> findByIds(List<Long> ids, FieldSelection selection) {
+        if (selection.expands(FieldSelection.PRODUCTS)) {
+            return orderMapper.ordersToOrderDTOs(orderRepository.findAllWithCustomerAndProductsByIdIn(ids)).stream()
+                    .map(order -> trim(order, selection))
+                    .toList();
+        }
+        List<CustomerOrderRowDTO> rows = selection.expands(FieldSelection.CUSTOMER)
+                ? orderRepository.findCustomerOrderRowsWithNameByIdIn(ids)
+                : orderRepository.findCustomerOrderRowsByIdIn(ids);
+        return rows.stream().map(row -> toDTO(row, selection)).toList();
+    }
+
+    private static OrderDTO toDTO(CustomerOrderRowDTO row, FieldSelection selection) {
+        OrderDTO order = new OrderDTO();
+        order.setId(row.getOrderId());
+        if (selection.includes(FieldSelection.DESCRIPTION)) {
+            order.setDescription(row.getDescription());
+        }
+        if (selection.expands(FieldSelection.CUSTOMER)) {
+            OrderCustomerDTO customer = new OrderCustomerDTO();
+            customer.setId(row.getCustomerId());
+            customer.setName(row.getCustomerName());
+            order.setCustomer(customer);
+        }
+        return order;
+    }
+
+    private static OrderDTO trim(OrderDTO order, FieldSelection selection) {
+        if (!selection.includes(FieldSelection.DESCRIPTION)) {
+            order.setDescription(null);
+        }
+        if (!selection.expands(FieldSelection.CUSTOMER)) {
+            order.setCustomer(null);
+        }
+        return order;
     }
 }
@@ -0,0 +1,60 @@
+package com.example.store.service;
+
+import com.example.store.dto.OrderCountDTO;
+import com.example.store.stats.OrderStatistics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Order counts for dashboards, answered from {@link OrderStatistics} without touching the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatsService {
+
+    static final int MAX_TOP = 100;
+
+    private final OrderStatistics orderStatistics;
+
+    public OrderCountDTO getCustomerOrderCount(Long customerId) {
+        requireReady();
+        return new OrderCountDTO(customerId, orderStatistics.ordersOfCustomer(customerId));
+    }
+
+    public OrderCountDTO getProductOrderCount(Long productId) {
+        requireReady();
+        return new OrderCountDTO(productId, orderStatistics.ordersOfProduct(productId));
+    }
+
+    public List<OrderCountDTO> getTopCustomers(int limit) {
+        requireReady();
+        checkLimit(limit);
+        log.debug("Fetching top {} customers by orders", limit);
+        return orderStatistics.topCustomers(limit);
+    }
+
+    public List<OrderCountDTO> getTopProducts(int limit) {
+        requireReady();
+        checkLimit(limit);
+        log.debug("Fetching top {} products by orders", limit);
+        return orderStatistics.topProducts(limit);
+    }
+
+    private void requireReady() {
+        if (!orderStatistics.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Order statistics are still loading");
+        }
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_TOP) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_TOP);
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.example.store.service;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.cache.ProductCatalogCache;
 import com.example.store.dto.ProductCreateDTO;
 import com.example.store.dto.ProductDTO;
 import com.example.store.entity.Product;
 import com.example.store.mapper.ProductMapper;
 import com.example.store.repository.ProductRepository;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Slf4j
@@ -20,13 +27,18 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductCatalogCache productCatalogCache;
+    private final AggregateVersions aggregateVersions;
 
     public ProductDTO createProduct(ProductCreateDTO dto) {
         log.info("Creating product: {}", dto.getDescription());
         Product product = productMapper.productCreateDtoToProduct(dto);
         Product saved = productRepository.save(product);
         log.info("Product created with id={}", saved.getId());
-        return productMapper.productToProductDTO(saved);
+        aggregateVersions.bump(Aggregate.PRODUCTS);
+        ProductDTO created = productMapper.productToProductDTO(saved);
+        productCatalogCache.put(created);
+        return created;
     }
 
     public List<ProductDTO> getAllProducts() {
@@ -38,11 +50,46 @@ public class ProductService {
 
     public ProductDTO getProductById(Long id) {
         log.info("Fetching product by id={}", id);
+        ProductDTO cached = productCatalogCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Product not found with id={}", id);
                     return new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
                 });
-        return productMapper.productToProductDTO(product);
+        ProductDTO loaded = productMapper.productToProductDTO(product);
+        productCatalogCache.put(loaded);
+        return loaded;
     }
-}
\ No newline at end of file
+
+    /**
+     * Read-through lookup of several products. Ids are de-duplicated, unknown ids are skipped and
+     * all cache misses are loaded with a single query.
+     */
+    public List<ProductDTO> getProductsByIds(Collection<Long> ids) {
+        List<ProductDTO> products = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        LongSet seen = new LongOpenHashSet(ids.size());
+        for (Long id : ids) {
+            if (id == null || !seen.add(id.longValue())) {
+                continue;
+            }
+            ProductDTO cached = productCatalogCache.get(id);
+            if (cached != null) {
+                products.add(cached);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            log.debug("Loading {} products missing from the catalog cache", missing.size());
+            List<ProductDTO> loaded = productMapper.productsToProductDTOs(productRepository.findAllById(missing));
+            productCatalogCache.putAll(loaded);
+            products.addAll(loaded);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.store.service;
+
+import com.example.store.config.CacheConfig;
+import com.example.store.dto.CoPurchaseDTO;
+import com.example.store.dto.CustomerOrderCountDTO;
+import com.example.store.dto.HistogramBucketDTO;
+import com.example.store.dto.ReportPageDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Aggregate reports for analysts. Each report is a single set-based query over {@code "order"} and
+ * {@code order_product}, read through {@link JdbcTemplate} straight into DTOs, so no entity is loaded
+ * or tracked. Pages are cached for a short time (cache {@code reports}) because the numbers move with
+ * every order and a few seconds of staleness is fine for reporting.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    // orders are counted per customer before the join, so the group-by runs over the narrow order table only
+    static final String CUSTOMER_ORDER_COUNTS = """
+            SELECT c.id, c.name, COALESCE(n.order_count, 0) AS order_count
+            FROM customer c
+            LEFT JOIN (SELECT customer_id, COUNT(*) AS order_count FROM "order" GROUP BY customer_id) n
+                   ON n.customer_id = c.id
+            ORDER BY order_count DESC, c.id
+            LIMIT ? OFFSET ?""";
+
+    // each unordered pair once: the self-join keeps only the pairs whose second product id is the larger
+    static final String CO_PURCHASES = """
+            SELECT a.product_id, b.product_id, COUNT(*) AS order_count
+            FROM order_product a
+            JOIN order_product b ON b.order_id = a.order_id AND b.product_id > a.product_id
+            GROUP BY a.product_id, b.product_id
+            ORDER BY order_count DESC, a.product_id, b.product_id
+            LIMIT ? OFFSET ?""";
+
+    static final String CO_PURCHASES_OF_PRODUCT = """
+            SELECT a.product_id, b.product_id, COUNT(*) AS order_count
+            FROM order_product a
+            JOIN order_product b ON b.order_id = a.order_id AND b.product_id <> a.product_id
+            WHERE a.product_id = ?
+            GROUP BY a.product_id, b.product_id
+            ORDER BY order_count DESC, b.product_id
+            LIMIT ? OFFSET ?""";
+
+    static final String ORDERS_PER_CUSTOMER_HISTOGRAM = """
+            SELECT n.order_count, COUNT(*) AS frequency
+            FROM (SELECT COUNT(o.id) AS order_count
+                  FROM customer c LEFT JOIN "order" o ON o.customer_id = c.id
+                  GROUP BY c.id) n
+            GROUP BY n.order_count
+            ORDER BY n.order_count
+            LIMIT ? OFFSET ?""";
+
+    static final String PRODUCTS_PER_ORDER_HISTOGRAM = """
+            SELECT n.product_count, COUNT(*) AS frequency
+            FROM (SELECT COUNT(op.product_id) AS product_count
+                  FROM "order" o LEFT JOIN order_product op ON op.order_id = o.id
+                  GROUP BY o.id) n
+            GROUP BY n.product_count
+            ORDER BY n.product_count
+            LIMIT ? OFFSET ?""";
+
+    private static final RowMapper<CustomerOrderCountDTO> CUSTOMER_ORDER_COUNT = (rs, row) ->
+            new CustomerOrderCountDTO(rs.getLong(1), rs.getString(2), rs.getLong(3));
+
+    private static final RowMapper<CoPurchaseDTO> CO_PURCHASE = (rs, row) ->
+            new CoPurchaseDTO(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+
+    private static final RowMapper<HistogramBucketDTO> HISTOGRAM_BUCKET = (rs, row) ->
+            new HistogramBucketDTO(rs.getLong(1), rs.getLong(2));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Customers by number of orders, most first; customers without orders are included with zero.
+     */
+    @Cacheable(value = CacheConfig.REPORTS, key = "{#root.methodName, #page, #size}")
+    public ReportPageDTO<CustomerOrderCountDTO> getCustomerOrderCounts(int page, int size) {
+        checkPage(page, size);
+        log.info("Running customer order counts report page={} size={}", page, size);
+        return toPage(page, size, jdbcTemplate.query(CUSTOMER_ORDER_COUNTS, CUSTOMER_ORDER_COUNT,
+                size + 1, (long) page * size));
+    }
+
+    /**
+     * Product pairs by number of orders containing both, most first. With {@code productId} only the pairs
+     * including that product are reported, with it as {@code productId}.
+     */
+    @Cacheable(value = CacheConfig.REPORTS, key = "{#root.methodName, #productId, #page, #size}")
+    public ReportPageDTO<CoPurchaseDTO> getCoPurchases(Long productId, int page, int size) {
+        checkPage(page, size);
+        log.info("Running co-purchase report productId={} page={} size={}", productId, page, size);
+        List<CoPurchaseDTO> rows = productId == null
+                ? jdbcTemplate.query(CO_PURCHASES, CO_PURCHASE, size + 1, (long) page * size)
+                : jdbcTemplate.query(CO_PURCHASES_OF_PRODUCT, CO_PURCHASE, productId, size + 1, (long) page * size);
+        return toPage(page, size, rows);
+    }
+
+    /**
+     * How many customers placed 0, 1, 2, ... orders, by ascending number of orders.
+     */
+    @Cacheable(value = CacheConfig.REPORTS, key = "{#root.methodName, #page, #size}")
+    public ReportPageDTO<HistogramBucketDTO> getOrdersPerCustomerHistogram(int page, int size) {
+        checkPage(page, size);
+        log.info("Running orders per customer histogram page={} size={}", page, size);
+        return toPage(page, size, jdbcTemplate.query(ORDERS_PER_CUSTOMER_HISTOGRAM, HISTOGRAM_BUCKET,
+                size + 1, (long) page * size));
+    }
+
+    /**
+     * How many orders contain 0, 1, 2, ... products, by ascending number of products.
+     */
+    @Cacheable(value = CacheConfig.REPORTS, key = "{#root.methodName, #page, #size}")
+    public ReportPageDTO<HistogramBucketDTO> getProductsPerOrderHistogram(int page, int size) {
+        checkPage(page, size);
+        log.info("Running products per order histogram page={} size={}", page, size);
+        return toPage(page, size, jdbcTemplate.query(PRODUCTS_PER_ORDER_HISTOGRAM, HISTOGRAM_BUCKET,
+                size + 1, (long) page * size));
+    }
+
+    private static void checkPage(int page, int size) {
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * The query reads one row more than the page; its presence tells whether another page exists.
+     */
+    private static <T> ReportPageDTO<T> toPage(int page, int size, List<T> rows) {
+        boolean hasNext = rows.size() > size;
+        return new ReportPageDTO<>(page, size, hasNext, List.copyOf(hasNext ? rows.subList(0, size) : rows));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.store.stats;
+
+import com.example.store.dto.OrderCountDTO;
+import com.example.store.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Order counts per customer and per product, kept in memory so dashboards never aggregate over the
+ * {@code "order"} and {@code order_product} tables. The counters are seeded by two aggregate queries at
+ * startup and then moved forward by every order the application writes.
+ *
+ * <p>Orders written while the seed runs are held back and replayed afterwards, unless the seed's snapshot
+ * already contains them. Rows written by other means (data generator, another instance) show up after a
+ * restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatistics {
+
+    private static final int STRIPES = 64;
+
+    private final OrderRepository orderRepository;
+
+    private final StripedLongCounters ordersByCustomer = new StripedLongCounters(STRIPES);
+    private final StripedLongCounters ordersByProduct = new StripedLongCounters(STRIPES);
+    private final LongAdder orders = new LongAdder();
+
+    private final Object seedLock = new Object();
+
+    // guarded by seedLock, dropped once seeded
+    private List<PendingOrder> pending = new ArrayList<>();
+
+    private volatile boolean ready;
+
+    private record PendingOrder(long orderId, long customerId, long[] productIds) {
+    }
+
+    /**
+     * Loads the counts of every order up to the highest id, all read from one snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void seed() {
+        long start = System.nanoTime();
+        long maxId = orderRepository.findMaxId();
+        try (Stream<OrderCountDTO> counts = orderRepository.countOrdersByCustomer(maxId)) {
+            counts.forEach(count -> {
+                ordersByCustomer.add(count.getId(), count.getOrders());
+                orders.add(count.getOrders());
+            });
+        }
+        try (Stream<OrderCountDTO> counts = orderRepository.countOrdersByProduct(maxId)) {
+            counts.forEach(count -> ordersByProduct.add(count.getId(), count.getOrders()));
+        }
+
+        int replayed = 0;
+        synchronized (seedLock) {
+            // Ids are not allocated in commit order (pooled sequence blocks, nextval before the commit), so
+            // an order at or below maxId may still have committed after the snapshot. Ask the snapshot.
+            List<Long> candidates = pending.stream()
+                    .map(PendingOrder::orderId)
+                    .filter(id -> id <= maxId)
+                    .toList();
+            Set<Long> seeded = candidates.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(orderRepository.findExistingIds(candidates));
+            for (PendingOrder order : pending) {
+                if (!seeded.contains(order.orderId())) {
+                    apply(order.customerId(), order.productIds());
+                    replayed++;
+                }
+            }
+            pending = null;
+            ready = true;
+        }
+        log.info("Order statistics seeded: {} orders, {} customers, {} products ({} replayed) in {} ms",
+                orders.sum(), ordersByCustomer.size(), ordersByProduct.size(), replayed,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Counts a committed order once for its customer and once for each distinct product.
+     */
+    public void recordOrder(long orderId, long customerId, long[] productIds) {
+        if (!ready) {
+            synchronized (seedLock) {
+                if (!ready) {
+                    pending.add(new PendingOrder(orderId, customerId, productIds.clone()));
+                    return;
+                }
+            }
+        }
+        apply(customerId, productIds);
+    }
+
+    public long totalOrders() {
+        return orders.sum();
+    }
+
+    public long ordersOfCustomer(long customerId) {
+        return ordersByCustomer.get(customerId);
+    }
+
+    public long ordersOfProduct(long productId) {
+        return ordersByProduct.get(productId);
+    }
+
+    /**
+     * Customers with the most orders, most first; ties go to the lower id.
+     */
+    public List<OrderCountDTO> topCustomers(int limit) {
+        return toDTOs(ordersByCustomer.top(limit));
+    }
+
+    /**
+     * Products appearing in the most orders, most first; ties go to the lower id.
+     */
+    public List<OrderCountDTO> topProducts(int limit) {
+        return toDTOs(ordersByProduct.top(limit));
+    }
+
+    private void apply(long customerId, long[] productIds) {
+        ordersByCustomer.add(customerId, 1);
+        for (long productId : productIds) {
+            ordersByProduct.add(productId, 1);
+        }
+        orders.increment();
+    }
+
+    private static List<OrderCountDTO> toDTOs(StripedLongCounters.Entry[] entries) {
+        return Arrays.stream(entries)
+                .map(entry -> new OrderCountDTO(entry.key(), entry.count()))
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.store.stats;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Counters keyed by primitive long ids, split over a fixed number of stripes. Each stripe is a
+ * {@link Long2LongOpenHashMap} guarded by its own monitor, so updates to different ids rarely contend
+ * and no key or value is ever boxed.
+ */
+final class StripedLongCounters {
+
+    /**
+     * One entry of a ranking.
+     */
+    record Entry(long key, long count) {
+    }
+
+    // highest count first, then lowest key
+    private static final Comparator<Entry> RANKING =
+            Comparator.comparingLong(Entry::count).reversed().thenComparingLong(Entry::key);
+
+    private final Long2LongOpenHashMap[] stripes;
+    private final int mask;
+
+    StripedLongCounters(int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripes must be a power of two: " + stripes);
+        }
+        this.stripes = new Long2LongOpenHashMap[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Long2LongOpenHashMap();
+        }
+        this.mask = stripes - 1;
+    }
+
+    void add(long key, long delta) {
+        Long2LongOpenHashMap stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.addTo(key, delta);
+        }
+    }
+
+    /**
+     * Current count of {@code key}; zero when it was never counted.
+     */
+    long get(long key) {
+        Long2LongOpenHashMap stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Long2LongOpenHashMap stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The {@code limit} highest counts, highest first. Walks every key once with a bounded heap, locking one
+     * stripe at a time, so the result is not a single snapshot while updates are running.
+     */
+    Entry[] top(int limit) {
+        // min-heap of the best entries so far; its head is the weakest of them
+        PriorityQueue<Entry> best = new PriorityQueue<>(Math.min(limit, 1024) + 1, RANKING.reversed());
+        for (Long2LongOpenHashMap stripe : stripes) {
+            synchronized (stripe) {
+                ObjectIterator<Long2LongMap.Entry> entries = stripe.long2LongEntrySet().fastIterator();
+                while (entries.hasNext()) {
+                    Long2LongMap.Entry entry = entries.next();
+                    long key = entry.getLongKey();
+                    long count = entry.getLongValue();
+                    if (best.size() < limit) {
+                        best.add(new Entry(key, count));
+                    } else if (outranks(key, count, best.peek())) {
+                        best.poll();
+                        best.add(new Entry(key, count));
+                    }
+                }
+            }
+        }
+        Entry[] ranked = new Entry[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = best.poll();
+        }
+        return ranked;
+    }
+
+    private static boolean outranks(long key, long count, Entry other) {
+        return count > other.count() || count == other.count() && key < other.key();
+    }
+
+    private Long2LongOpenHashMap stripe(long key) {
+        return stripes[(int) HashCommon.mix(key) & mask];
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.store.cache;
+
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.config.CacheConfig;
+import com.example.store.config.StoreCacheProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AggregateVersionsTest {
+
+    private final AggregateVersions versions = new AggregateVersions();
+
+    @Test
+    @DisplayName("Should change the ETag only when one of its aggregates changes")
+    void shouldTrackAggregatesSeparately() {
+        String products = versions.etag(Aggregate.PRODUCTS);
+        String customers = versions.etag(Aggregate.CUSTOMERS, Aggregate.ORDERS);
+
+        versions.bump(Aggregate.ORDERS);
+
+        assertThat(versions.etag(Aggregate.PRODUCTS)).isEqualTo(products);
+        assertThat(versions.etag(Aggregate.CUSTOMERS, Aggregate.ORDERS)).isNotEqualTo(customers);
+        assertThat(versions.current(Aggregate.ORDERS)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should issue quoted strong ETags that differ between instances")
+    void shouldIssueStrongETagsPerInstance() {
+        String etag = versions.etag(Aggregate.PRODUCTS);
+
+        assertThat(etag).startsWith("\"").endsWith("\"").doesNotStartWith("W/");
+        assertThat(new AggregateVersions().etag(Aggregate.PRODUCTS)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Should clear the customers cache before a reader can see the new version")
+    void shouldClearCustomersBeforeBumping() {
+        Cache customers = Objects.requireNonNull(new CacheConfig()
+                .cacheManager(new StoreCacheProperties(), versions)
+                .getCache(CacheConfig.CUSTOMERS));
+        customers.put("all", "stale");
+        String before = versions.etag(Aggregate.CUSTOMERS, Aggregate.ORDERS);
+
+        // A reader that runs in the middle of the bump, after the clear but before the increment
+        List<String> etags = new ArrayList<>();
+        List<Object> cached = new ArrayList<>();
+        versions.onChange(Aggregate.ORDERS, () -> {
+            etags.add(versions.etag(Aggregate.CUSTOMERS, Aggregate.ORDERS));
+            cached.add(customers.get("all"));
+        });
+
+        versions.bump(Aggregate.ORDERS);
+
+        assertThat(etags).containsExactly(before);
+        assertThat(cached).containsOnlyNulls();
+        assertThat(versions.etag(Aggregate.CUSTOMERS, Aggregate.ORDERS)).isNotEqualTo(before);
+        assertThat(customers.get("all")).isNull();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.store.cache;
+
+import com.example.store.config.StoreCacheProperties;
+import com.example.store.dto.ProductDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCatalogCacheTest {
+
+    private ProductCatalogCache cache;
+
+    @BeforeEach
+    void setup() {
+        StoreCacheProperties properties = new StoreCacheProperties();
+        properties.getProducts().setMaxSize(2);
+        cache = new ProductCatalogCache(properties);
+    }
+
+    @Test
+    @DisplayName("Should return null for products that are not cached")
+    void shouldReturnNullOnMiss() {
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict down to the size cap instead of refusing new products")
+    void shouldRespectSizeCap() {
+        cache.putAll(List.of(product(1L, "Laptop"), product(2L, "Mouse"), product(3L, "Monitor")));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(3L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used product")
+    void shouldEvictLeastRecentlyUsed() {
+        cache.putAll(List.of(product(1L, "Laptop"), product(2L, "Mouse")));
+        cache.get(1L);
+
+        cache.put(product(3L, "Monitor"));
+
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(1L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should keep a striped cache within its size cap")
+    void shouldRespectSizeCapAcrossStripes() {
+        StoreCacheProperties properties = new StoreCacheProperties();
+        properties.getProducts().setMaxSize(10_000);
+        ProductCatalogCache striped = new ProductCatalogCache(properties);
+
+        for (long id = 1; id <= 20_000; id++) {
+            striped.put(product(id, "Product " + id));
+        }
+
+        assertThat(striped.size()).isLessThanOrEqualTo(10_000).isGreaterThan(9_000);
+        assertThat(striped.get(20_000L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should replace cached products even when full")
+    void shouldReplaceExistingEntriesWhenFull() {
+        cache.putAll(List.of(product(1L, "Laptop"), product(2L, "Mouse")));
+        ProductDTO renamed = product(2L, "Wireless Mouse");
+
+        cache.put(renamed);
+
+        assertThat(cache.get(2L)).isSameAs(renamed);
+    }
+
+    @Test
+    @DisplayName("Should drop every entry on clear")
+    void shouldClear() {
+        cache.put(product(1L, "Laptop"));
+
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private static ProductDTO product(long id, String description) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setDescription(description);
+        return dto;
+    }
+}
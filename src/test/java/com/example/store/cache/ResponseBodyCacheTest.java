@@ -0,0 +1,156 @@
+package com.example.store.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBodyCacheTest {
+
+    private ResponseBodyCache cache;
+    private AtomicInteger loads;
+    private List<String> value;
+    private Supplier<List<String>> loader;
+
+    @BeforeEach
+    void setup() {
+        cache = new ResponseBodyCache(new ObjectMapper());
+        loads = new AtomicInteger();
+        value = List.of("a", "b");
+        loader = () -> {
+            loads.incrementAndGet();
+            return value;
+        };
+    }
+
+    @Test
+    @DisplayName("Should encode once per ETag and serve the same bytes afterwards")
+    void shouldReuseEncodedBody() {
+        ResponseEntity<?> first = cache.respond("items", "\"v1\"", request(null, null), loader);
+        ResponseEntity<?> second = cache.respond("items", "\"v1\"", request(null, null), loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(new String((byte[]) second.getBody())).isEqualTo("[\"a\",\"b\"]");
+        assertThat(second.getHeaders().getETag()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    @DisplayName("Should rebuild the body when the ETag changes")
+    void shouldRebuildOnNewVersion() {
+        cache.respond("items", "\"v1\"", request(null, null), loader);
+        value = List.of("c");
+
+        ResponseEntity<?> response = cache.respond("items", "\"v2\"", request(null, null), loader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(new String((byte[]) response.getBody())).isEqualTo("[\"c\"]");
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without loading when the client has the current version")
+    void shouldReturnNotModified() {
+        ServletWebRequest request = request(null, null);
+        ((MockHttpServletRequest) request.getRequest()).addHeader("If-None-Match", "\"v1\"");
+
+        ResponseEntity<?> response = cache.respond("items", "\"v1\"", request, loader);
+
+        assertThat(response).isNull();
+        assertThat(request.getResponse().getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(request.getResponse().getHeader("Vary")).isEqualTo("Accept, Accept-Encoding");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should serve a pre-gzipped body with its own ETag to clients that accept gzip")
+    void shouldServeGzippedBody() throws IOException {
+        value = Collections.nCopies(1000, "product");
+        ServletWebRequest request = request(null, "gzip, deflate");
+
+        ResponseEntity<?> response = cache.respond("items", "\"v1\"", request, loader);
+
+        assertThat(response.getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1-gz\"");
+        assertThat(request.getResponse().getHeader("Vary")).isEqualTo("Accept, Accept-Encoding");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) response.getBody()))) {
+            assertThat(new ObjectMapper().readValue(in, List.class)).hasSize(1000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave small bodies uncompressed")
+    void shouldNotGzipSmallBodies() {
+        ResponseEntity<?> response = cache.respond("items", "\"v1\"", request(null, "gzip"), loader);
+
+        assertThat(response.getHeaders().containsKey("Content-Encoding")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hand other media types to normal content negotiation")
+    void shouldNotCacheOtherMediaTypes() {
+        ServletWebRequest request = request("application/cbor", "gzip");
+
+        ResponseEntity<?> response = cache.respond("items", "\"v1\"", request, loader);
+
+        assertThat(response.getBody()).isSameAs(value);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1-cbor\"");
+        assertThat(request.getResponse().getHeader("Vary")).isEqualTo("Accept, Accept-Encoding");
+    }
+
+    @Test
+    @DisplayName("Should not answer a CBOR request with 304 for the JSON ETag")
+    void shouldKeepCborAndJsonTagsApart() {
+        ServletWebRequest cbor = request("application/cbor", null);
+        ((MockHttpServletRequest) cbor.getRequest()).addHeader("If-None-Match", "\"v1\"");
+        ServletWebRequest json = request(null, null);
+        ((MockHttpServletRequest) json.getRequest()).addHeader("If-None-Match", "\"v1-cbor\"");
+
+        assertThat(cache.respond("items", "\"v1\"", cbor, loader).getBody()).isSameAs(value);
+        assertThat(cache.respond("items", "\"v1\"", json, loader).getHeaders().getETag()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    @DisplayName("Should treat a missing or wildcard Accept header as JSON")
+    void shouldPreferJson() {
+        assertThat(ResponseBodyCache.prefersJson(null)).isTrue();
+        assertThat(ResponseBodyCache.prefersJson("*/*")).isTrue();
+        assertThat(ResponseBodyCache.prefersJson("application/cbor;q=0.5, application/json")).isTrue();
+        assertThat(ResponseBodyCache.prefersJson("application/cbor, */*;q=0.1")).isFalse();
+        assertThat(ResponseBodyCache.prefersJson("text/csv")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should honour q=0 for gzip")
+    void shouldParseAcceptEncoding() {
+        assertThat(ResponseBodyCache.acceptsGzip("br, gzip;q=0.8")).isTrue();
+        assertThat(ResponseBodyCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ResponseBodyCache.acceptsGzip("identity")).isFalse();
+        assertThat(ResponseBodyCache.acceptsGzip(null)).isFalse();
+    }
+
+    private static ServletWebRequest request(String accept, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
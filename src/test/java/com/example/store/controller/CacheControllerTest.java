@@ -0,0 +1,44 @@
+package com.example.store.controller;
+
+import com.example.store.dto.CacheStatsDTO;
+import com.example.store.service.CacheStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CacheController.class)
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheStatsService cacheStatsService;
+
+    @Test
+    @DisplayName("Should return statistics for every cache")
+    void shouldReturnCacheStats() throws Exception {
+        CacheStatsDTO stats = new CacheStatsDTO();
+        stats.setName("customers");
+        stats.setHitCount(3);
+        stats.setMissCount(1);
+        stats.setHitRate(0.75);
+        when(cacheStatsService.getCacheStats()).thenReturn(List.of(stats));
+
+        mockMvc.perform(get("/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("customers"))
+                .andExpect(jsonPath("$[0].hitCount").value(3))
+                .andExpect(jsonPath("$[0].hitRate").value(0.75));
+    }
+}
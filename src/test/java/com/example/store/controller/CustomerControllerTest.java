@@ -1,8 +1,18 @@
 package com.example.store.controller;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.cache.ResponseBodyCache;
+import com.example.store.dto.CursorPageDTO;
 import com.example.store.dto.CustomerCreateDTO;
 import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.CustomerOrderDTO;
+import com.example.store.dto.CustomerSummaryDTO;
+import com.example.store.dto.ImportRowErrorDTO;
+import com.example.store.dto.ImportSummaryDTO;
+import com.example.store.service.CsvImportService;
 import com.example.store.service.CustomerService;
+import com.example.store.service.FieldSelection;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,25 +21,35 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CustomerController.class)
+@Import(ResponseBodyCache.class)
 class CustomerControllerTest {
 
     @Autowired
@@ -38,16 +58,27 @@ class CustomerControllerTest {
     @MockBean
     private CustomerService customerService;
 
+    @MockBean
+    private CsvImportService csvImportService;
+
+    @MockBean
+    private AggregateVersions aggregateVersions;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private CustomerDTO customerDTO;
+    private String etag;
 
     @BeforeEach
     void setup() {
         customerDTO = new CustomerDTO();
         customerDTO.setId(1L);
         customerDTO.setName("Tatenda");
+
+        // the response body cache outlives a single test, so each test gets a version of its own
+        etag = "\"" + UUID.randomUUID() + "\"";
+        when(aggregateVersions.etag(Aggregate.CUSTOMERS, Aggregate.ORDERS)).thenReturn(etag);
     }
 
     // --------------------- GET /customer (list all) ----------------------
@@ -55,7 +86,7 @@ class CustomerControllerTest {
     @Test
     @DisplayName("Should return all customers successfully")
     void shouldReturnAllCustomers() throws Exception {
-        when(customerService.getAllCustomers()).thenReturn(List.of(customerDTO));
+        when(customerService.getAllCustomers(FieldSelection.ALL_CUSTOMER_FIELDS)).thenReturn(List.of(customerDTO));
 
         mockMvc.perform(get("/customer/list"))
                 .andExpect(status().isOk())
@@ -63,13 +94,74 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Tatenda"));
     }
 
+    @Test
+    @DisplayName("Should answer 304 without loading customers when the ETag still matches")
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        mockMvc.perform(get("/customer/list").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(customerService, never()).getAllCustomers(any(FieldSelection.class));
+    }
+
+    @Test
+    @DisplayName("Should return the full list with a new ETag when the ETag is stale")
+    void shouldReturnCustomersWhenETagIsStale() throws Exception {
+        when(customerService.getAllCustomers(FieldSelection.ALL_CUSTOMER_FIELDS)).thenReturn(List.of(customerDTO));
+
+        mockMvc.perform(get("/customer/list").header("If-None-Match", "\"v3-4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    @DisplayName("Should serve the encoded list again without calling the service while the ETag holds")
+    void shouldServeCachedCustomers() throws Exception {
+        when(customerService.getAllCustomers(FieldSelection.ALL_CUSTOMER_FIELDS)).thenReturn(List.of(customerDTO));
+
+        mockMvc.perform(get("/customer/list")).andExpect(status().isOk());
+        mockMvc.perform(get("/customer/list"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].name").value("Tatenda"));
+
+        verify(customerService, times(1)).getAllCustomers(FieldSelection.ALL_CUSTOMER_FIELDS);
+        verify(customerService, never()).getAllCustomers();
+    }
+
+    @Test
+    @DisplayName("Should return only the requested customer fields, tagged by customers alone")
+    void shouldReturnSparseCustomers() throws Exception {
+        String customersOnly = "\"" + UUID.randomUUID() + "\"";
+        when(aggregateVersions.etag(Aggregate.CUSTOMERS)).thenReturn(customersOnly);
+        CustomerDTO sparse = new CustomerDTO();
+        sparse.setId(1L);
+        sparse.setName("Tatenda");
+        when(customerService.getAllCustomers(FieldSelection.forCustomer("name", null))).thenReturn(List.of(sparse));
+
+        mockMvc.perform(get("/customer/list").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", customersOnly))
+                .andExpect(jsonPath("$[0].name").value("Tatenda"))
+                .andExpect(jsonPath("$[0].orders").doesNotExist());
+
+        verify(customerService, never()).getAllCustomers(FieldSelection.ALL_CUSTOMER_FIELDS);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown field")
+    void shouldRejectUnknownCustomerField() throws Exception {
+        mockMvc.perform(get("/customer/list").param("fields", "email"))
+                .andExpect(status().isBadRequest());
+    }
+
     // --------------------- GET /customer?page&size ----------------------
 
     @Test
     @DisplayName("Should return paginated customers")
     void shouldReturnPaginatedCustomers() throws Exception {
         Page<CustomerDTO> page = new PageImpl<>(List.of(customerDTO), PageRequest.of(0, 20), 1);
-        when(customerService.getAllCustomers(eq(0), eq(20))).thenReturn(page);
+        when(customerService.getAllCustomers(eq(0), eq(20), eq(FieldSelection.ALL_CUSTOMER_FIELDS))).thenReturn(page);
 
         mockMvc.perform(get("/customer/list/paged")
                         .param("page", "0")
@@ -79,12 +171,24 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.content[0].name").value("Tatenda"));
     }
 
+    @Test
+    @DisplayName("Should pass the field selection of a page to the service")
+    void shouldPassFieldSelectionForPage() throws Exception {
+        Page<CustomerDTO> page = new PageImpl<>(List.of(customerDTO), PageRequest.of(0, 20), 1);
+        when(customerService.getAllCustomers(0, 20, FieldSelection.forCustomer(null, ""))).thenReturn(page);
+
+        mockMvc.perform(get("/customer/list/paged").param("expand", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Tatenda"));
+    }
+
     // --------------------- GET /customer/search?query=... ----------------------
 
     @Test
     @DisplayName("Should return search results successfully")
     void shouldReturnSearchResults() throws Exception {
-        when(customerService.searchCustomers("tate")).thenReturn(List.of(customerDTO));
+        when(customerService.searchCustomers("tate", 0, 20, FieldSelection.ALL_CUSTOMER_FIELDS))
+                .thenReturn(List.of(customerDTO));
 
         mockMvc.perform(get("/customer/search").param("query", "tate"))
                 .andExpect(status().isOk())
@@ -94,13 +198,67 @@ class CustomerControllerTest {
     @Test
     @DisplayName("Should return empty list when search yields no results")
     void shouldReturnEmptyListOnSearchNoResults() throws Exception {
-        when(customerService.searchCustomers("unknown")).thenReturn(List.of());
+        when(customerService.searchCustomers("unknown", 0, 20, FieldSelection.ALL_CUSTOMER_FIELDS))
+                .thenReturn(List.of());
 
         mockMvc.perform(get("/customer/search").param("query", "unknown"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    @DisplayName("Should pass search paging parameters to the service")
+    void shouldPassSearchPaging() throws Exception {
+        when(customerService.searchCustomers("tate", 2, 5, FieldSelection.ALL_CUSTOMER_FIELDS))
+                .thenReturn(List.of(customerDTO));
+
+        mockMvc.perform(get("/customer/search").param("query", "tate").param("page", "2").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Tatenda"));
+    }
+
+    // --------------------- GET /customer/suggest?prefix=... ----------------------
+
+    @Test
+    @DisplayName("Should return id and name suggestions for a prefix")
+    void shouldReturnSuggestions() throws Exception {
+        when(customerService.suggestCustomers("ta", 10)).thenReturn(List.of(new CustomerSummaryDTO(1L, "Tatenda")));
+
+        mockMvc.perform(get("/customer/suggest").param("prefix", "ta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Tatenda"));
+    }
+
+    // --------------------- GET /customer/{id}/orders ----------------------
+
+    @Test
+    @DisplayName("Should return a page of the customer's orders")
+    void shouldReturnCustomerOrders() throws Exception {
+        CustomerOrderDTO order = new CustomerOrderDTO();
+        order.setId(10L);
+        order.setDescription("Laptop");
+        when(customerService.getCustomerOrders(1L, "next-token", 5))
+                .thenReturn(new CursorPageDTO<>(List.of(order), "after-10"));
+
+        mockMvc.perform(get("/customer/{id}/orders", 1L).param("after", "next-token").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(10))
+                .andExpect(jsonPath("$.content[0].description").value("Laptop"))
+                .andExpect(jsonPath("$.nextCursor").value("after-10"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for the orders of an unknown customer")
+    void shouldReturnNotFoundForOrdersOfUnknownCustomer() throws Exception {
+        when(customerService.getCustomerOrders(99L, null, 20))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found"));
+
+        mockMvc.perform(get("/customer/{id}/orders", 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Customer not found"));
+    }
+
     // --------------------- POST /customer ----------------------
 
     @Test
@@ -144,4 +302,42 @@ class CustomerControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Customer not found"));
     }
+
+    // --------------------- POST /customer/import ----------------------
+
+    @Test
+    @DisplayName("Should import a multipart CSV upload and return the summary")
+    void shouldImportMultipartCsv() throws Exception {
+        ImportSummaryDTO summary = new ImportSummaryDTO();
+        summary.setRowsRead(2);
+        summary.setImported(1);
+        summary.setRejected(1);
+        summary.getErrors().add(new ImportRowErrorDTO(3, "name is required"));
+        when(csvImportService.importCustomers(any(InputStream.class))).thenReturn(summary);
+
+        MockMultipartFile file = new MockMultipartFile("file", "import.csv", "text/csv",
+                "name\nFirst\n\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/customer/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(3));
+    }
+
+    @Test
+    @DisplayName("Should import a raw text/csv request body")
+    void shouldImportRawCsvBody() throws Exception {
+        ImportSummaryDTO summary = new ImportSummaryDTO();
+        summary.setImported(1);
+        when(csvImportService.importCustomers(any(InputStream.class))).thenReturn(summary);
+
+        mockMvc.perform(post("/customer/import")
+                        .contentType("text/csv")
+                        .content("name\nFirst\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        verify(csvImportService).importCustomers(any(InputStream.class));
+    }
 }
@@ -0,0 +1,403 @@
+package com.example.store.controller;
+
+import com.example.store.config.CacheConfig;
+import com.example.store.entity.Customer;
+import com.example.store.entity.Order;
+import com.example.store.entity.Product;
+import com.example.store.metrics.SqlBudget;
+import com.example.store.metrics.SqlStatementCountAdvice;
+import com.example.store.repository.CustomerRepository;
+import com.example.store.repository.OrderRepository;
+import com.example.store.repository.ProductRepository;
+import com.example.store.search.CustomerNameSuggester;
+import com.example.store.search.CustomerSearchIndex;
+import com.example.store.service.OrderExportService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements every endpoint prepares against an in-memory database with more
+ * rows than any budget, so a lazy association loaded per row fails the build instead of reaching
+ * production. Statements are counted at the {@code DataSource}, so {@code JdbcTemplate} work (imports,
+ * batch insert, reports) is pinned as well. The streamed export body is written on another thread, which
+ * the counter does not see, so its test also runs the export on the test thread.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlbudget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.use_sql_comments=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointSqlBudgetTest {
+
+    private static final int CUSTOMERS = 20;
+    private static final int ORDERS_PER_CUSTOMER = 2;
+    private static final int PRODUCTS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CustomerNameSuggester customerNameSuggester;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    private Long customerId;
+    private Long productId;
+    private Long orderId;
+
+    @BeforeAll
+    void seed() {
+        // The Liquibase schema gives the id columns sequence defaults, which the JdbcTemplate inserts rely on
+        jdbcTemplate.execute("ALTER TABLE customer ALTER COLUMN id SET DEFAULT NEXT VALUE FOR customer_id_seq");
+        jdbcTemplate.execute("ALTER TABLE product ALTER COLUMN id SET DEFAULT NEXT VALUE FOR product_id_seq");
+        jdbcTemplate.execute("ALTER TABLE \"order\" ALTER COLUMN id SET DEFAULT NEXT VALUE FOR order_id_seq");
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setDescription("Product " + i);
+            products.add(product);
+        }
+        products = productRepository.saveAll(products);
+
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer();
+            customer.setName(String.format("Tatenda %02d", i));
+            customers.add(customer);
+        }
+        customers = customerRepository.saveAll(customers);
+
+        List<Order> orders = new ArrayList<>();
+        for (Customer customer : customers) {
+            for (int i = 0; i < ORDERS_PER_CUSTOMER; i++) {
+                Order order = new Order();
+                order.setDescription("Order " + i + " for " + customer.getName());
+                order.setCustomer(customer);
+                order.setProducts(new ArrayList<>(List.of(products.get(i), products.get(i + 2))));
+                orders.add(order);
+            }
+        }
+        orders = orderRepository.saveAll(orders);
+
+        customerSearchIndex.build();
+        customerNameSuggester.build();
+        customerId = customers.get(0).getId();
+        productId = products.get(0).getId();
+        orderId = orders.get(0).getId();
+    }
+
+    @BeforeEach
+    void clearCustomersCache() {
+        Objects.requireNonNull(cacheManager.getCache(CacheConfig.CUSTOMERS)).clear();
+    }
+
+    @Test
+    @SqlBudget(2)
+    @DisplayName("GET /customer/list: customer projection plus order rows, joined in memory")
+    void listCustomers() throws Exception {
+        mockMvc.perform(get("/customer/list"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementCountAdvice.HEADER))
+                .andExpect(jsonPath("$[1].orders.length()").value(ORDERS_PER_CUSTOMER));
+    }
+
+    @Test
+    @SqlBudget(3)
+    @DisplayName("GET /customer/list/paged: page, count and one batch of orders")
+    void listCustomersPaged() throws Exception {
+        mockMvc.perform(get("/customer/list/paged").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(2)
+    @DisplayName("GET /customer/search: hits reloaded by id plus one batch of orders")
+    void searchCustomers() throws Exception {
+        mockMvc.perform(get("/customer/search").param("query", "tatenda 1").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+    }
+
+    @Test
+    @SqlBudget(2)
+    @DisplayName("GET /customer/list/paged?expand=: page and count of the id/name projection, no orders")
+    void listCustomersPagedWithoutOrders() throws Exception {
+        mockMvc.perform(get("/customer/list/paged").param("page", "0").param("size", "10").param("expand", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].orders").doesNotExist());
+    }
+
+    @Test
+    @SqlBudget(1)
+    @DisplayName("GET /customer/search?fields=id,name: hits reloaded as id/name projections")
+    void searchCustomersWithoutOrders() throws Exception {
+        mockMvc.perform(get("/customer/search").param("query", "tatenda 1").param("size", "5")
+                        .param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+    }
+
+    @Test
+    @SqlBudget(1)
+    @DisplayName("GET /customer/{id}/orders: one keyset range of order rows")
+    void listCustomerOrders() throws Exception {
+        mockMvc.perform(get("/customer/{id}/orders", customerId).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").exists());
+    }
+
+    @Test
+    @SqlBudget(0)
+    @DisplayName("GET /customer/suggest: served from memory")
+    void suggestCustomers() throws Exception {
+        mockMvc.perform(get("/customer/suggest").param("prefix", "tat"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementCountAdvice.HEADER, "0"));
+    }
+
+    @Test
+    @SqlBudget(2)
+    @DisplayName("POST /customer/create: insert, plus a sequence call when the id block runs out")
+    void createCustomer() throws Exception {
+        mockMvc.perform(post("/customer/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Rudo Moyo\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @SqlBudget(1)
+    @DisplayName("POST /customer/import: one JDBC batch insert for the chunk")
+    void importCustomers() throws Exception {
+        mockMvc.perform(post("/customer/import")
+                        .contentType("text/csv")
+                        .content("name\nFarai Ncube\nChipo Dube\n"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(1)
+    @DisplayName("GET /order/list: orders, customers and products in one statement")
+    void listOrders() throws Exception {
+        mockMvc.perform(get("/order/list"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementCountAdvice.HEADER, "1"));
+    }
+
+    @Test
+    @SqlBudget(2)
+    @DisplayName("GET /order/list?limit: page of ids, then the orders with their graph")
+    void listOrdersPage() throws Exception {
+        mockMvc.perform(get("/order/list").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10));
+    }
+
+    @Test
+    @SqlBudget(2)
+    @DisplayName("GET /order/list?limit&expand=customer: page of ids, then order rows joined with the customer")
+    void listOrdersPageWithCustomerOnly() throws Exception {
+        mockMvc.perform(get("/order/list").param("limit", "10").param("expand", "customer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.content[0].customer.name").exists())
+                .andExpect(jsonPath("$.content[0].products").doesNotExist());
+    }
+
+    @Test
+    @SqlBudget(1 + CUSTOMERS * ORDERS_PER_CUSTOMER)
+    @DisplayName("GET /order/export: one cursor, then one product load per order")
+    void exportOrders() throws Exception {
+        MvcResult result = mockMvc.perform(get("/order/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        // the body above ran on the async executor; the same export here runs on the counted thread
+        long exported = orderExportService.exportOrders(new ByteArrayOutputStream());
+
+        assertThat(exported).isEqualTo(CUSTOMERS * ORDERS_PER_CUSTOMER);
+    }
+
+    @Test
+    @SqlBudget(3)
+    @DisplayName("GET /order/find/{id}: order, customer and products")
+    void findOrder() throws Exception {
+        mockMvc.perform(get("/order/find/{id}", orderId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(1)
+    @DisplayName("GET /order/find/{id}?expand=: a single order row")
+    void findOrderWithoutAssociations() throws Exception {
+        mockMvc.perform(get("/order/find/{id}", orderId).param("expand", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customer").doesNotExist());
+    }
+
+    @Test
+    @SqlBudget(5)
+    @DisplayName("POST /order/create: customer, products, insert order and its product links")
+    void createOrder() throws Exception {
+        mockMvc.perform(post("/order/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"New order\",\"customerId\":" + customerId
+                                + ",\"productIds\":[" + productId + "]}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @SqlBudget(4)
+    @DisplayName("POST /order/batch: customer and product lookups, then one batch each for orders and links")
+    void createOrders() throws Exception {
+        String item = "{\"description\":\"Batch order\",\"customerId\":" + customerId
+                + ",\"productIds\":[" + productId + "]}";
+        mockMvc.perform(post("/order/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + item + "," + item + "," + item + "]"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(0)
+    @DisplayName("POST /order/intake and GET /order/intake/{trackingId}: queue and status cache only")
+    void intake() throws Exception {
+        MvcResult result = mockMvc.perform(post("/order/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Queued order\",\"customerId\":" + customerId + "}"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+
+        mockMvc.perform(get(Objects.requireNonNull(result.getResponse().getHeader("Location"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(2)
+    @DisplayName("POST /products/create: insert, plus a sequence call when the id block runs out")
+    void createProduct() throws Exception {
+        mockMvc.perform(post("/products/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Bamboo Chair\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @SqlBudget(1)
+    @DisplayName("GET /products/list: one select")
+    void listProducts() throws Exception {
+        mockMvc.perform(get("/products/list"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(1)
+    @DisplayName("GET /products/find/{id}: catalog cache, one select on a miss")
+    void findProduct() throws Exception {
+        mockMvc.perform(get("/products/find/{id}", productId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(1)
+    @DisplayName("POST /products/import: one JDBC batch insert for the chunk")
+    void importProducts() throws Exception {
+        mockMvc.perform(post("/products/import")
+                        .contentType("text/csv")
+                        .content("description\nSteel Table\n"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(0)
+    @DisplayName("GET /cache/stats: in-memory counters")
+    void cacheStats() throws Exception {
+        mockMvc.perform(get("/cache/stats"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(0)
+    @DisplayName("GET /stats/*: in-memory counters")
+    void orderStats() throws Exception {
+        mockMvc.perform(get("/stats/customers/{id}/orders", customerId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/stats/customers/top").param("limit", "3"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/stats/products/{id}/orders", productId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/stats/products/top").param("limit", "3"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(4)
+    @DisplayName("GET /reports/*: one aggregate query each through JdbcTemplate")
+    void reports() throws Exception {
+        mockMvc.perform(get("/reports/customer-orders").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5))
+                .andExpect(jsonPath("$.hasNext").value(true));
+        mockMvc.perform(get("/reports/co-purchases").param("productId", String.valueOf(productId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].productId").value(productId));
+        mockMvc.perform(get("/reports/histograms/orders-per-customer"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/reports/histograms/products-per-order"))
+                .andExpect(status().isOk());
+    }
+}
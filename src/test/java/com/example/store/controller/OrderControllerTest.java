@@ -1,32 +1,61 @@
 package com.example.store.controller;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.cache.ResponseBodyCache;
+import com.example.store.dto.CursorPageDTO;
+import com.example.store.dto.OrderBatchItemResultDTO;
+import com.example.store.dto.OrderBatchResultDTO;
 import com.example.store.dto.OrderCreateDTO;
 import com.example.store.dto.OrderDTO;
+import com.example.store.dto.OrderIntakeStatusDTO;
+import com.example.store.service.FieldSelection;
+import com.example.store.service.OrderBatchService;
+import com.example.store.service.OrderExportService;
+import com.example.store.service.OrderIntakeService;
 import com.example.store.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
+@Import(ResponseBodyCache.class)
 class OrderControllerTest {
 
     @Autowired
@@ -35,10 +64,23 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @MockBean
+    private OrderBatchService orderBatchService;
+
+    @MockBean
+    private OrderIntakeService orderIntakeService;
+
+    @MockBean
+    private AggregateVersions aggregateVersions;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private OrderDTO orderDTO;
+    private String etag;
 
     @BeforeEach
     void setUp() {
@@ -46,6 +88,10 @@ class OrderControllerTest {
         orderDTO.setId(1L);
         orderDTO.setDescription("Test Order");
         orderDTO.setProducts(List.of());
+
+        // the response body cache outlives a single test, so each test gets a version of its own
+        etag = "\"" + UUID.randomUUID() + "\"";
+        when(aggregateVersions.etag(Aggregate.ORDERS, Aggregate.CUSTOMERS, Aggregate.PRODUCTS)).thenReturn(etag);
     }
 
     // ---------------------- GET /order ----------------------
@@ -62,6 +108,30 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$[0].products").isArray());
     }
 
+    @Test
+    @DisplayName("Should render orders as CBOR when the client asks for it")
+    void shouldReturnOrdersAsCbor() throws Exception {
+        when(orderService.getAllOrders()).thenReturn(List.of(orderDTO));
+
+        MvcResult result = mockMvc.perform(get("/order/list").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        OrderDTO[] orders = new CBORMapper().readValue(body, OrderDTO[].class);
+        assertThat(orders).extracting(OrderDTO::getDescription).containsExactly("Test Order");
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without loading orders when the ETag still matches")
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        mockMvc.perform(get("/order/list").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(orderService, never()).getAllOrders();
+    }
+
     @Test
     @DisplayName("Should return empty list when no orders found")
     void shouldReturnEmptyListWhenNoOrdersFound() throws Exception {
@@ -73,12 +143,82 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    @DisplayName("Should return sparse orders tagged by the aggregates they embed")
+    void shouldReturnSparseOrders() throws Exception {
+        String ordersAndCustomers = "\"" + UUID.randomUUID() + "\"";
+        when(aggregateVersions.etag(Aggregate.ORDERS, Aggregate.CUSTOMERS)).thenReturn(ordersAndCustomers);
+        OrderDTO sparse = new OrderDTO();
+        sparse.setId(1L);
+        when(orderService.getAllOrders(FieldSelection.forOrder("id", "customer"))).thenReturn(List.of(sparse));
+
+        mockMvc.perform(get("/order/list").param("fields", "id").param("expand", "customer"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ordersAndCustomers))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].products").doesNotExist());
+
+        verify(orderService, never()).getAllOrders();
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown association")
+    void shouldRejectUnknownOrderExpansion() throws Exception {
+        mockMvc.perform(get("/order/list").param("limit", "10").param("expand", "lines"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return a cursor page when a limit is given")
+    void shouldReturnCursorPage() throws Exception {
+        when(orderService.getOrdersPage(isNull(), eq(1), eq(FieldSelection.ALL_ORDER_FIELDS)))
+                .thenReturn(new CursorPageDTO<>(List.of(orderDTO), "next-token"));
+
+        mockMvc.perform(get("/order/list").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    @DisplayName("Should pass the cursor through to the service")
+    void shouldPassCursorToService() throws Exception {
+        when(orderService.getOrdersPage("next-token", 20, FieldSelection.ALL_ORDER_FIELDS))
+                .thenReturn(new CursorPageDTO<>(List.of(), null));
+
+        mockMvc.perform(get("/order/list").param("after", "next-token").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    // ---------------------- GET /order/export ----------------------
+
+    @Test
+    @DisplayName("Should stream orders as NDJSON")
+    void shouldStreamOrdersAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(orderExportService).exportOrders(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/order/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
     // ---------------------- GET /order/{id} ----------------------
 
     @Test
     @DisplayName("Should return specific order by ID successfully")
     void shouldReturnOrderById() throws Exception {
-        when(orderService.getOrderById(1L)).thenReturn(orderDTO);
+        when(orderService.getOrderById(1L, FieldSelection.ALL_ORDER_FIELDS)).thenReturn(orderDTO);
 
         mockMvc.perform(get("/order/find/{id}", 1L))
                 .andExpect(status().isOk())
@@ -89,7 +229,7 @@ class OrderControllerTest {
     @Test
     @DisplayName("Should return 404 when order not found")
     void shouldReturnNotFoundWhenOrderMissing() throws Exception {
-        when(orderService.getOrderById(99L))
+        when(orderService.getOrderById(99L, FieldSelection.ALL_ORDER_FIELDS))
                 .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
 
         mockMvc.perform(get("/order/find/{id}", 99L))
@@ -170,4 +310,88 @@ class OrderControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.message").value("An unexpected error occurred"));
     }
+
+    // ---------------------- POST /order/batch ----------------------
+
+    @Test
+    @DisplayName("Should return per-item results for a batch")
+    void shouldCreateOrderBatch() throws Exception {
+        OrderCreateDTO valid = new OrderCreateDTO();
+        valid.setDescription("Laptop purchase");
+        valid.setCustomerId(1L);
+        OrderCreateDTO invalid = new OrderCreateDTO();
+        invalid.setCustomerId(1L);
+
+        when(orderBatchService.createOrders(anyList())).thenReturn(new OrderBatchResultDTO(1, 1, List.of(
+                OrderBatchItemResultDTO.created(0, 42L),
+                OrderBatchItemResultDTO.rejected(1, List.of("description: Order description is required")))));
+
+        mockMvc.perform(post("/order/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].orderId").value(42))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].errors", hasItem(containsString("description"))));
+    }
+
+    // ---------------------- POST /order/intake ----------------------
+
+    @Test
+    @DisplayName("Should accept an order for asynchronous creation with a tracking id")
+    void shouldAcceptOrderForIntake() throws Exception {
+        OrderCreateDTO dto = new OrderCreateDTO();
+        dto.setDescription("Laptop purchase");
+        dto.setCustomerId(1L);
+
+        when(orderIntakeService.submit(any(OrderCreateDTO.class))).thenReturn(OrderIntakeStatusDTO.queued("abc"));
+
+        mockMvc.perform(post("/order/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/order/intake/abc"))
+                .andExpect(jsonPath("$.trackingId").value("abc"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    @DisplayName("Should return 429 when the intake queue is full")
+    void shouldApplyBackpressureWhenIntakeQueueIsFull() throws Exception {
+        OrderCreateDTO dto = new OrderCreateDTO();
+        dto.setDescription("Laptop purchase");
+        dto.setCustomerId(1L);
+
+        when(orderIntakeService.submit(any(OrderCreateDTO.class)))
+                .thenThrow(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Order intake queue is full"));
+
+        mockMvc.perform(post("/order/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message").value("Order intake queue is full"));
+    }
+
+    @Test
+    @DisplayName("Should validate orders before queueing them")
+    void shouldValidateIntakeOrders() throws Exception {
+        mockMvc.perform(post("/order/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderCreateDTO())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should report the status of a submitted order")
+    void shouldReturnIntakeStatus() throws Exception {
+        when(orderIntakeService.getStatus("abc")).thenReturn(OrderIntakeStatusDTO.created("abc", 42L));
+
+        mockMvc.perform(get("/order/intake/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"))
+                .andExpect(jsonPath("$.orderId").value(42));
+    }
 }
@@ -1,7 +1,13 @@
 package com.example.store.controller;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.cache.ResponseBodyCache;
+import com.example.store.dto.ImportRowErrorDTO;
+import com.example.store.dto.ImportSummaryDTO;
 import com.example.store.dto.ProductCreateDTO;
 import com.example.store.dto.ProductDTO;
+import com.example.store.service.CsvImportService;
 import com.example.store.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,20 +16,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -31,6 +47,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Comprehensive tests for ProductController
  */
 @WebMvcTest(ProductController.class)
+@Import(ResponseBodyCache.class)
 class ProductControllerTest {
 
     @Autowired
@@ -39,16 +56,27 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private CsvImportService csvImportService;
+
+    @MockBean
+    private AggregateVersions aggregateVersions;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private ProductDTO productDTO;
+    private String etag;
 
     @BeforeEach
     void setup() {
         productDTO = new ProductDTO();
         productDTO.setId(1L);
         productDTO.setDescription("Laptop");
+
+        // the response body cache outlives a single test, so each test gets a version of its own
+        etag = "\"" + UUID.randomUUID() + "\"";
+        when(aggregateVersions.etag(Aggregate.PRODUCTS)).thenReturn(etag);
     }
 
     // --------------------------------------------------------
@@ -76,6 +104,26 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("Should send the products ETag with the list")
+    void shouldSendETagWithProducts() throws Exception {
+        when(productService.getAllProducts()).thenReturn(List.of(productDTO));
+
+        mockMvc.perform(get("/products/list"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without loading products when the ETag still matches")
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        mockMvc.perform(get("/products/list").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getAllProducts();
+    }
+
     // --------------------------------------------------------
     // GET /products/{id}
     // --------------------------------------------------------
@@ -171,4 +219,42 @@ class ProductControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.message").value("An unexpected error occurred"));
     }
+
+    // --------------------- POST /products/import ----------------------
+
+    @Test
+    @DisplayName("Should import a multipart CSV upload and return the summary")
+    void shouldImportMultipartCsv() throws Exception {
+        ImportSummaryDTO summary = new ImportSummaryDTO();
+        summary.setRowsRead(2);
+        summary.setImported(1);
+        summary.setRejected(1);
+        summary.getErrors().add(new ImportRowErrorDTO(3, "description is required"));
+        when(csvImportService.importProducts(any(InputStream.class))).thenReturn(summary);
+
+        MockMultipartFile file = new MockMultipartFile("file", "import.csv", "text/csv",
+                "description\nFirst\n\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/products/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(3));
+    }
+
+    @Test
+    @DisplayName("Should import a raw text/csv request body")
+    void shouldImportRawCsvBody() throws Exception {
+        ImportSummaryDTO summary = new ImportSummaryDTO();
+        summary.setImported(1);
+        when(csvImportService.importProducts(any(InputStream.class))).thenReturn(summary);
+
+        mockMvc.perform(post("/products/import")
+                        .contentType("text/csv")
+                        .content("description\nFirst\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        verify(csvImportService).importProducts(any(InputStream.class));
+    }
 }
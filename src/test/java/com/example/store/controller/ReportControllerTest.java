@@ -0,0 +1,55 @@
+package com.example.store.controller;
+
+import com.example.store.dto.CoPurchaseDTO;
+import com.example.store.dto.HistogramBucketDTO;
+import com.example.store.dto.ReportPageDTO;
+import com.example.store.service.ReportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReportController.class)
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReportService reportService;
+
+    @Test
+    @DisplayName("Should return a page of co-purchases for one product")
+    void shouldReturnCoPurchases() throws Exception {
+        when(reportService.getCoPurchases(100L, 0, 50)).thenReturn(
+                new ReportPageDTO<>(0, 50, false, List.of(new CoPurchaseDTO(100L, 102L, 20L))));
+
+        mockMvc.perform(get("/reports/co-purchases").param("productId", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.content[0].otherProductId").value(102))
+                .andExpect(jsonPath("$.content[0].orders").value(20));
+    }
+
+    @Test
+    @DisplayName("Should return the orders per customer histogram")
+    void shouldReturnHistogram() throws Exception {
+        when(reportService.getOrdersPerCustomerHistogram(1, 2)).thenReturn(new ReportPageDTO<>(1, 2, true,
+                List.of(new HistogramBucketDTO(2L, 30L), new HistogramBucketDTO(3L, 7L))));
+
+        mockMvc.perform(get("/reports/histograms/orders-per-customer").param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.content[1].frequency").value(7));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.store.controller;
+
+import com.example.store.dto.OrderCountDTO;
+import com.example.store.service.OrderStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StatsController.class)
+class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OrderStatsService orderStatsService;
+
+    @Test
+    @DisplayName("Should return the order count of one customer")
+    void shouldReturnCustomerOrderCount() throws Exception {
+        when(orderStatsService.getCustomerOrderCount(1L)).thenReturn(new OrderCountDTO(1L, 42L));
+
+        mockMvc.perform(get("/stats/customers/{id}/orders", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.orders").value(42));
+    }
+
+    @Test
+    @DisplayName("Should return the most ordered products")
+    void shouldReturnTopProducts() throws Exception {
+        when(orderStatsService.getTopProducts(2)).thenReturn(List.of(
+                new OrderCountDTO(101L, 7L), new OrderCountDTO(100L, 4L)));
+
+        mockMvc.perform(get("/stats/products/top").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(101))
+                .andExpect(jsonPath("$[1].orders").value(4));
+    }
+
+    @Test
+    @DisplayName("Should default the top customers limit to 10")
+    void shouldUseDefaultLimit() throws Exception {
+        when(orderStatsService.getTopCustomers(10)).thenReturn(List.of(new OrderCountDTO(1L, 3L)));
+
+        mockMvc.perform(get("/stats/customers/top"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return 503 while the statistics are loading")
+    void shouldReturn503WhileLoading() throws Exception {
+        when(orderStatsService.getProductOrderCount(100L)).thenThrow(
+                new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Order statistics are still loading"));
+
+        mockMvc.perform(get("/stats/products/{id}/orders", 100L))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
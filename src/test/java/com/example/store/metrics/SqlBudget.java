@@ -0,0 +1,21 @@
+package com.example.store.metrics;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when its body sends more than {@link #value()} SQL statements through the data source
+ * on the test thread. On a class it applies to every test method without its own budget. Setup in
+ * {@code @BeforeEach} methods is not counted.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudget {
+
+    int value();
+}
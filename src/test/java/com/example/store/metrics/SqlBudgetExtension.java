@@ -0,0 +1,31 @@
+package com.example.store.metrics;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Optional;
+
+/**
+ * Counts the SQL statements a test prepares with {@link SqlStatementCounter} and fails it when they
+ * exceed its {@link SqlBudget}.
+ */
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatementCounter.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        int statements = SqlStatementCounter.stop();
+        Optional<SqlBudget> budget = AnnotationSupport.findAnnotation(context.getElement(), SqlBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getTestClass(), SqlBudget.class));
+        if (budget.isPresent() && statements > budget.get().value() && context.getExecutionException().isEmpty()) {
+            throw new AssertionError(context.getDisplayName() + " prepared " + statements
+                    + " SQL statements, over its budget of " + budget.get().value());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.store.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCountingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:counting;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new SqlStatementCountingDataSource(h2));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS item (name VARCHAR(255))");
+        SqlStatementCounter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementCounter.stop();
+        jdbcTemplate.execute("DROP TABLE item");
+    }
+
+    @Test
+    @DisplayName("Should count JdbcTemplate statements, a batch once however many rows it has")
+    void shouldCountJdbcTemplateStatements() {
+        jdbcTemplate.batchUpdate("INSERT INTO item (name) VALUES (?)",
+                List.of(new Object[] {"a"}, new Object[] {"b"}, new Object[] {"c"}));
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item WHERE name <> ?", Integer.class, "z");
+        jdbcTemplate.execute("DELETE FROM item");
+
+        assertThat(SqlStatementCounter.current()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not count statements outside a scope")
+    void shouldIgnoreStatementsOutsideScope() {
+        SqlStatementCounter.stop();
+
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        assertThat(SqlStatementCounter.current()).isZero();
+    }
+}
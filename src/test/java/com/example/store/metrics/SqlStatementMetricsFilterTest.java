@@ -0,0 +1,120 @@
+package com.example.store.metrics;
+
+import com.example.store.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementMetricsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private SqlStatementMetricsFilter filter;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        filter = new SqlStatementMetricsFilter(registry, new SqlBudgetProperties());
+    }
+
+    @Test
+    @DisplayName("Should record the statements prepared during a request against its URI pattern")
+    void shouldRecordStatementsPerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/customer/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            SqlStatementCounter.increment();
+            SqlStatementCounter.increment();
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/customer/{id}");
+        });
+
+        DistributionSummary summary = registry.get(SqlStatementMetricsFilter.METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/customer/{id}")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+        assertThat(SqlStatementCounter.current()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should tag requests no handler matched as UNKNOWN")
+    void shouldTagUnmatchedRequests() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/nowhere"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        assertThat(registry.get(SqlStatementMetricsFilter.METRIC).tag("uri", "UNKNOWN").summary().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not count statements outside a request")
+    void shouldIgnoreStatementsOutsideScope() {
+        SqlStatementCounter.increment();
+
+        assertThat(SqlStatementCounter.current()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should only count the request's own statements inside an outer scope")
+    void shouldNestInsideOuterScope() throws Exception {
+        SqlStatementCounter.start();
+        try {
+            SqlStatementCounter.increment();
+            filter.doFilter(new MockHttpServletRequest("GET", "/products/list"), new MockHttpServletResponse(),
+                    (req, res) -> SqlStatementCounter.increment());
+
+            assertThat(registry.get(SqlStatementMetricsFilter.METRIC).summary().totalAmount()).isEqualTo(1);
+            assertThat(SqlStatementCounter.current()).isEqualTo(2);
+        } finally {
+            SqlStatementCounter.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should tell handlers sharing a URI pattern apart by their params condition")
+    void shouldResolveHandlerParams() throws Exception {
+        MockHttpServletRequest all = new MockHttpServletRequest("GET", "/order/list");
+        all.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new ListController(), ListController.class.getMethod("all")));
+        MockHttpServletRequest page = new MockHttpServletRequest("GET", "/order/list");
+        page.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new ListController(), ListController.class.getMethod("page", int.class)));
+
+        assertThat(SqlStatementMetricsFilter.params(all)).isEmpty();
+        assertThat(SqlStatementMetricsFilter.params(page)).isEqualTo("limit");
+    }
+
+    @Test
+    @DisplayName("Should budget a params handler on its own entry, falling back to its plain pattern")
+    void shouldLookUpBudgetWithParams() {
+        SqlBudgetProperties budgets = new SqlBudgetProperties();
+        budgets.getEndpoints().put("GET /order/list", 1);
+        budgets.getEndpoints().put("GET /order/list?limit", 2);
+        budgets.getEndpoints().put("GET /customer/list", 2);
+
+        assertThat(budgets.budgetFor("GET", "/order/list")).isEqualTo(1);
+        assertThat(budgets.budgetFor("GET", "/order/list?limit")).isEqualTo(2);
+        assertThat(budgets.budgetFor("GET", "/customer/list?page")).isEqualTo(2);
+        assertThat(budgets.budgetFor("GET", "/products/list")).isEqualTo(budgets.getDefaultBudget());
+    }
+
+    static class ListController {
+
+        @GetMapping("/order/list")
+        public void all() {
+        }
+
+        @GetMapping(value = "/order/list", params = "limit")
+        public void page(int limit) {
+        }
+    }
+}
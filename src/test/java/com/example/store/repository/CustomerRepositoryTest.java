@@ -0,0 +1,86 @@
+package com.example.store.repository;
+
+import com.example.store.entity.Customer;
+import com.example.store.entity.Order;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that pooled sequence ids let Hibernate send multi-row saves as JDBC batches.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CustomerRepositoryTest {
+
+    private static final int ROWS = 40;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should insert many customers with one batched statement")
+    void shouldBatchCustomerInserts() {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customers.add(customer);
+        }
+
+        customerRepository.saveAll(customers);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // at most two sequence calls to seed the id pool, plus the one batched insert
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should batch inserts of different entity types when they are interleaved")
+    void shouldBatchInterleavedInserts() {
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customerRepository.save(customer);
+
+            Order order = new Order();
+            order.setDescription("Order " + i);
+            order.setCustomer(customer);
+            orderRepository.save(order);
+        }
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2L * ROWS);
+        // two sequences, then one batched insert per table thanks to hibernate.order_inserts
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.store.repository;
+
+import com.example.store.dto.CustomerOrderRowDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.entity.Customer;
+import com.example.store.entity.Order;
+import com.example.store.entity.Product;
+import com.example.store.mapper.CustomerMapperImpl;
+import com.example.store.mapper.OrderMapper;
+import com.example.store.mapper.OrderMapperImpl;
+import com.example.store.mapper.ProductMapperImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements used to build {@link OrderDTO}s, using Hibernate statistics.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({OrderMapperImpl.class, ProductMapperImpl.class, CustomerMapperImpl.class})
+class OrderRepositoryTest {
+
+    private static final int CUSTOMERS = 5;
+    private static final int PRODUCTS = 4;
+    private static final int ORDERS = 60;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    private Statistics statistics;
+    private long customerId;
+
+    @BeforeEach
+    void setup() {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customers.add(entityManager.persist(customer));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setDescription("Product " + i);
+            products.add(entityManager.persist(product));
+        }
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setDescription("Order " + i);
+            order.setCustomer(customers.get(i % CUSTOMERS));
+            order.setProducts(new ArrayList<>(List.of(products.get(i % PRODUCTS), products.get((i + 1) % PRODUCTS))));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        customerId = customers.get(0).getId();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load and map all orders with customers and products in one statement")
+    void shouldLoadFullReadModelInOneStatement() {
+        List<OrderDTO> orders = orderMapper.ordersToOrderDTOs(orderRepository.findAllWithCustomerAndProducts());
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(orders).allSatisfy(order -> {
+            assertThat(order.getCustomer().getName()).startsWith("Customer ");
+            assertThat(order.getProducts()).hasSize(2);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load and map a keyset page in two statements")
+    void shouldLoadKeysetPageInTwoStatements() {
+        List<Long> ids = orderRepository.findIdsAfter(0L, PageRequest.of(0, 25));
+        List<OrderDTO> orders = orderMapper.ordersToOrderDTOs(orderRepository.findAllWithCustomerAndProductsByIdIn(ids));
+
+        assertThat(orders).hasSize(25);
+        assertThat(orders).extracting(OrderDTO::getId).containsExactlyElementsOf(ids);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getProducts()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should project the order rows of every customer in one statement without entities")
+    void shouldProjectCustomerOrderRowsInOneStatement() {
+        List<CustomerOrderRowDTO> rows = orderRepository.findAllCustomerOrderRows();
+
+        assertThat(rows).hasSize(ORDERS);
+        assertThat(rows).extracting(CustomerOrderRowDTO::getOrderId).isSorted();
+        assertThat(rows.get(0).getDescription()).isEqualTo("Order 0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should walk one customer's orders in keyset pages, one statement per page")
+    void shouldPageCustomerOrdersByKeyset() {
+        List<CustomerOrderRowDTO> all = new ArrayList<>();
+        long after = 0L;
+        List<CustomerOrderRowDTO> page;
+        do {
+            page = orderRepository.findCustomerOrderRowsAfter(customerId, after, PageRequest.of(0, 5));
+            all.addAll(page);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getOrderId();
+            }
+        } while (page.size() == 5);
+
+        assertThat(all).hasSize(ORDERS / CUSTOMERS);
+        assertThat(all).extracting(CustomerOrderRowDTO::getOrderId).isSorted().doesNotHaveDuplicates();
+        assertThat(all).allSatisfy(row -> assertThat(row.getCustomerId()).isEqualTo(customerId));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should need more statements when mapping through lazy associations")
+    void shouldShowLazyMappingCost() {
+        List<OrderDTO> orders = orderMapper.ordersToOrderDTOs(orderRepository.findAll());
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(2);
+    }
+}
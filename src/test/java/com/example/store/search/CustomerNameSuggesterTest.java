@@ -0,0 +1,62 @@
+package com.example.store.search;
+
+import com.example.store.dto.CustomerSummaryDTO;
+import com.example.store.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class CustomerNameSuggesterTest {
+
+    private CustomerNameSuggester suggester;
+
+    @BeforeEach
+    void setup() {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        suggester = new CustomerNameSuggester(customerRepository);
+
+        given(customerRepository.streamAllSummaries()).willReturn(Stream.of(
+                new CustomerSummaryDTO(1L, "Tatenda"),
+                new CustomerSummaryDTO(2L, "tate"),
+                new CustomerSummaryDTO(3L, "Mary Tate"),
+                new CustomerSummaryDTO(4L, "Tatenda"),
+                new CustomerSummaryDTO(5L, "Tau")));
+        suggester.build();
+    }
+
+    @Test
+    @DisplayName("Should return names starting with the prefix in name order, ignoring case")
+    void shouldSuggestByPrefix() {
+        assertThat(suggester.suggest("TAT", 10)).extracting(CustomerSummaryDTO::getId)
+                .containsExactly(2L, 1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should stop after the limit")
+    void shouldApplyLimit() {
+        assertThat(suggester.suggest("ta", 2)).extracting(CustomerSummaryDTO::getName)
+                .containsExactly("tate", "Tatenda");
+    }
+
+    @Test
+    @DisplayName("Should return nothing when no name has the prefix")
+    void shouldReturnEmptyForUnknownPrefix() {
+        assertThat(suggester.suggest("zz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should include customers added after the build, once")
+    void shouldAddCustomers() {
+        suggester.add(6L, "Tatiana");
+        suggester.add(6L, "Tatiana");
+
+        assertThat(suggester.size()).isEqualTo(6);
+        assertThat(suggester.suggest("tati", 10)).extracting(CustomerSummaryDTO::getId).containsExactly(6L);
+    }
+}
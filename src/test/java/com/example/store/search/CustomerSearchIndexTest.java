@@ -0,0 +1,97 @@
+package com.example.store.search;
+
+import com.example.store.dto.CustomerSummaryDTO;
+import com.example.store.repository.CustomerRepository;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class CustomerSearchIndexTest {
+
+    private CustomerRepository customerRepository;
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        customerRepository = mock(CustomerRepository.class);
+        index = new CustomerSearchIndex(customerRepository);
+
+        given(customerRepository.streamAllSummaries()).willReturn(Stream.of(
+                new CustomerSummaryDTO(1L, "Tatenda Chiwandire"),
+                new CustomerSummaryDTO(2L, "Mary Tate"),
+                new CustomerSummaryDTO(3L, "Tate"),
+                new CustomerSummaryDTO(4L, "Estate Moyo"),
+                new CustomerSummaryDTO(5L, "Alice Smith")));
+        index.build();
+    }
+
+    @Test
+    @DisplayName("Should be ready with every customer indexed after building")
+    void shouldBuildFromRepository() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should rank name prefixes first, then word prefixes, then other matches")
+    void shouldRankMatches() {
+        CustomerSearchIndex.Hits hits = index.search("TATE", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(4);
+        assertThat(hits.ids()).containsExactly(3L, 1L, 2L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should only return candidates that contain the whole query")
+    void shouldVerifyCandidates() {
+        // "tat" and "ate" both occur in "Tate", but "tatex" does not
+        assertThat(index.search("tatex", 0, 10).ids()).isEmpty();
+        assertThat(index.search("unknown", 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should page through ranked matches")
+    void shouldPage() {
+        CustomerSearchIndex.Hits hits = index.search("tate", 1, 2);
+
+        assertThat(hits.total()).isEqualTo(4);
+        assertThat(hits.ids()).containsExactly(1L, 2L);
+        assertThat(index.search("tate", 10, 2).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should scan names for queries shorter than a trigram")
+    void shouldHandleShortQueries() {
+        assertThat(index.search("mo", 0, 10).ids()).containsExactly(4L);
+        assertThat(index.search("", 0, 10).total()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should find customers added after the build, once")
+    void shouldAddCustomers() {
+        index.add(6L, "Tatiana");
+        index.add(6L, "Tatiana");
+
+        assertThat(index.size()).isEqualTo(6);
+        assertThat(index.search("tati", 0, 10).ids()).containsExactly(6L);
+    }
+
+    @Test
+    @DisplayName("Should intersect sorted posting lists")
+    void shouldIntersect() {
+        IntArrayList shorter = IntArrayList.wrap(new int[] {3, 40, 41, 900});
+        IntArrayList longer = new IntArrayList();
+        for (int i = 0; i < 1000; i += 3) {
+            longer.add(i);
+        }
+
+        assertThat(CustomerSearchIndex.intersect(shorter, longer).toIntArray()).containsExactly(3, 900);
+    }
+}
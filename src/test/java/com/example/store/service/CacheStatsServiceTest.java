@@ -0,0 +1,62 @@
+package com.example.store.service;
+
+import com.example.store.cache.AggregateVersions;
+import com.example.store.config.CacheConfig;
+import com.example.store.config.StoreCacheProperties;
+import com.example.store.dto.CacheStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CacheStatsServiceTest {
+
+    private CacheManager cacheManager;
+    private CacheStatsService cacheStatsService;
+
+    @BeforeEach
+    void setup() {
+        StoreCacheProperties properties = new StoreCacheProperties();
+        properties.getSpecs().put(CacheConfig.CUSTOMERS, "maximumSize=2,recordStats");
+
+        cacheManager = new CacheConfig().cacheManager(properties, new AggregateVersions());
+        cacheStatsService = new CacheStatsService(cacheManager);
+    }
+
+    @Test
+    @DisplayName("Should report hits and misses of the customers cache")
+    void shouldReportHitsAndMisses() {
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMERS);
+        cache.put("all", List.of());
+        cache.get("all");
+        cache.get("all");
+        cache.get("missing");
+
+        List<CacheStatsDTO> stats = cacheStatsService.getCacheStats();
+
+        assertThat(stats).hasSize(1);
+        CacheStatsDTO customers = stats.get(0);
+        assertThat(customers.getName()).isEqualTo(CacheConfig.CUSTOMERS);
+        assertThat(customers.getHitCount()).isEqualTo(2);
+        assertThat(customers.getMissCount()).isEqualTo(1);
+        assertThat(customers.getHitRate()).isCloseTo(2.0 / 3.0, within(0.001));
+        assertThat(customers.getEstimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should bound caches created without an explicit spec")
+    void shouldBoundDynamicCaches() {
+        Cache cache = cacheManager.getCache("other");
+        cache.put("key", "value");
+
+        assertThat(cacheStatsService.getCacheStats())
+                .extracting(CacheStatsDTO::getName)
+                .containsExactly(CacheConfig.CUSTOMERS, "other");
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.store.service;
+
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.config.ImportProperties;
+import com.example.store.dto.ImportRowErrorDTO;
+import com.example.store.dto.ImportSummaryDTO;
+import com.example.store.search.CustomerNameSuggester;
+import com.example.store.search.CustomerSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CsvImportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private ImportProperties properties;
+    private CustomerSearchIndex customerSearchIndex;
+    private CustomerNameSuggester customerNameSuggester;
+    private AggregateVersions aggregateVersions;
+
+    private CsvImportService csvImportService;
+
+    private final AtomicLong nextId = new AtomicLong(100);
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        properties = new ImportProperties();
+        customerSearchIndex = mock(CustomerSearchIndex.class);
+        customerNameSuggester = mock(CustomerNameSuggester.class);
+        aggregateVersions = new AggregateVersions();
+
+        csvImportService = new CsvImportService(jdbcTemplate, new TransactionTemplate(transactionManager), properties,
+                customerSearchIndex, customerNameSuggester, aggregateVersions);
+
+        given(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).willAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            KeyHolder keyHolder = invocation.getArgument(2);
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                keyHolder.getKeyList().add(Map.of("id", nextId.getAndIncrement()));
+            }
+            return new int[setter.getBatchSize()];
+        });
+    }
+
+    @Test
+    @DisplayName("Should import valid customer rows and report the invalid ones")
+    void shouldImportCustomers() throws IOException {
+        ImportSummaryDTO summary = csvImportService.importCustomers(
+                csv("name,email\nTatenda,t@example.com\n\n,nobody@example.com\n\"Smith, John\",\n"));
+
+        assertThat(summary.getRowsRead()).isEqualTo(3);
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getRejected()).isEqualTo(1);
+        assertThat(summary.getErrors()).containsExactly(new ImportRowErrorDTO(4, "name is required"));
+
+        ArgumentCaptor<BatchPreparedStatementSetter> batch = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), batch.capture(), any(KeyHolder.class));
+        assertThat(batch.getValue().getBatchSize()).isEqualTo(2);
+        assertThat(aggregateVersions.current(Aggregate.CUSTOMERS)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should add imported customers to the search index and suggester with their generated ids")
+    void shouldIndexImportedCustomers() throws IOException {
+        csvImportService.importCustomers(csv("name\nTatenda\nAlice\n"));
+
+        verify(customerSearchIndex).add(100L, "Tatenda");
+        verify(customerSearchIndex).add(101L, "Alice");
+        verify(customerNameSuggester).add(100L, "Tatenda");
+        verify(customerNameSuggester).add(101L, "Alice");
+    }
+
+    @Test
+    @DisplayName("Should find the product column by header name")
+    void shouldImportProductsByHeaderName() throws IOException {
+        ImportSummaryDTO summary = csvImportService.importProducts(csv("sku,Description\nA1,Laptop\nA2\n"));
+
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getErrors()).containsExactly(new ImportRowErrorDTO(3, "description is required"));
+        verify(jdbcTemplate).batchUpdate(eq(CsvImportService.INSERT_PRODUCT), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Should write one transaction per chunk")
+    void shouldWriteInChunks() throws IOException {
+        properties.setChunkSize(2);
+
+        ImportSummaryDTO summary = csvImportService.importCustomers(csv("name\nA\nB\nC\nD\nE\n"));
+
+        assertThat(summary.getImported()).isEqualTo(5);
+        verify(jdbcTemplate, times(3)).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should reject the rows of a chunk that fails to write and carry on")
+    void shouldRejectFailedChunk() throws IOException {
+        properties.setChunkSize(1);
+        willThrow(new DataIntegrityViolationException("boom"))
+                .willReturn(new int[] {1})
+                .given(jdbcTemplate).batchUpdate(eq(CsvImportService.INSERT_PRODUCT),
+                        any(BatchPreparedStatementSetter.class));
+
+        ImportSummaryDTO summary = csvImportService.importProducts(csv("description\nA\nB\n"));
+
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getErrors()).containsExactly(new ImportRowErrorDTO(2, "Database error"));
+        assertThat(aggregateVersions.current(Aggregate.PRODUCTS)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not index customers of a chunk that fails to write")
+    void shouldNotIndexFailedChunk() throws IOException {
+        willThrow(new DataIntegrityViolationException("boom")).given(jdbcTemplate).batchUpdate(
+                any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+
+        ImportSummaryDTO summary = csvImportService.importCustomers(csv("name\nA\n"));
+
+        assertThat(summary.getRejected()).isEqualTo(1);
+        verify(customerSearchIndex, never()).add(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should cap the number of reported errors")
+    void shouldTruncateErrors() throws IOException {
+        properties.setMaxReportedErrors(1);
+
+        ImportSummaryDTO summary = csvImportService.importCustomers(csv("name,email\n,a\n,b\n"));
+
+        assertThat(summary.getRejected()).isEqualTo(2);
+        assertThat(summary.getErrors()).hasSize(1);
+        assertThat(summary.isErrorsTruncated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should throw 400 when the header lacks the expected column")
+    void shouldRejectMissingHeader() {
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> csvImportService.importCustomers(csv("email\na@b.c\n")),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.store.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("Should split plain records on commas and line breaks")
+    void shouldReadPlainRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("id,name\n1,Tatenda\r\n2,Alice"));
+
+        assertThat(reader.readRecord()).containsExactly("id", "name");
+        assertThat(reader.readRecord()).containsExactly("1", "Tatenda");
+        assertThat(reader.readRecord()).containsExactly("2", "Alice");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep commas, escaped quotes and line breaks inside quoted fields")
+    void shouldReadQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"Smith, John\",\"say \"\"hi\"\"\",\"two\nlines\"\n\"\",x\n"));
+
+        assertThat(reader.readRecord()).containsExactly("Smith, John", "say \"hi\"", "two\nlines");
+        assertThat(reader.readRecord()).containsExactly("", "x");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return a single empty field for blank lines")
+    void shouldReadBlankLine() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\n\nb\n"));
+
+        assertThat(reader.readRecord()).containsExactly("a");
+        assertThat(reader.readRecord()).isEqualTo(List.of(""));
+        assertThat(reader.readRecord()).containsExactly("b");
+        assertThat(reader.readRecord()).isNull();
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.store.service;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.dto.CursorPageDTO;
 import com.example.store.dto.CustomerCreateDTO;
 import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.CustomerOrderDTO;
+import com.example.store.dto.CustomerOrderRowDTO;
+import com.example.store.dto.CustomerSummaryDTO;
 import com.example.store.entity.Customer;
 import com.example.store.mapper.CustomerMapper;
 import com.example.store.repository.CustomerRepository;
+import com.example.store.repository.OrderRepository;
+import com.example.store.search.CustomerNameSuggester;
+import com.example.store.search.CustomerSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -25,13 +34,19 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.times;
 import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.verifyNoInteractions;
 
 class CustomerServiceTest {
 
     private CustomerRepository customerRepository;
+    private OrderRepository orderRepository;
     private CustomerMapper customerMapper;
+    private CustomerSearchIndex customerSearchIndex;
+    private CustomerNameSuggester customerNameSuggester;
+    private AggregateVersions aggregateVersions;
     private CustomerService customerService;
 
     private Customer customer;
@@ -40,8 +55,13 @@ class CustomerServiceTest {
     @BeforeEach
     void setup() {
         customerRepository = mock(CustomerRepository.class);
+        orderRepository = mock(OrderRepository.class);
         customerMapper = mock(CustomerMapper.class);
-        customerService = new CustomerService(customerRepository, customerMapper);
+        customerSearchIndex = mock(CustomerSearchIndex.class);
+        customerNameSuggester = mock(CustomerNameSuggester.class);
+        aggregateVersions = new AggregateVersions();
+        customerService = new CustomerService(customerRepository, orderRepository, customerMapper, customerSearchIndex,
+                customerNameSuggester, aggregateVersions);
 
         customer = new Customer();
         customer.setId(1L);
@@ -56,18 +76,34 @@ class CustomerServiceTest {
     // getAllCustomers() [@Cacheable]
     // -------------------------------------------------------
     @Test
-    @DisplayName("Should return all customers successfully")
+    @DisplayName("Should join customers and order rows in memory without the mapper")
     void shouldReturnAllCustomers() {
-        given(customerRepository.findAll()).willReturn(List.of(customer));
-        given(customerMapper.customersToCustomerDTOs(List.of(customer)))
-                .willReturn(List.of(customerDTO));
+        given(customerRepository.findAllSummaries()).willReturn(List.of(
+                new CustomerSummaryDTO(1L, "Tatenda"), new CustomerSummaryDTO(2L, "Rudo")));
+        given(orderRepository.findAllCustomerOrderRows()).willReturn(List.of(
+                new CustomerOrderRowDTO(1L, 10L, "Laptop"), new CustomerOrderRowDTO(1L, 11L, "Mouse")));
 
         List<CustomerDTO> result = customerService.getAllCustomers();
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("Tatenda");
-        verify(customerRepository, times(1)).findAll();
-        verify(customerMapper, times(1)).customersToCustomerDTOs(anyList());
+        assertThat(result).extracting(CustomerDTO::getName).containsExactly("Tatenda", "Rudo");
+        assertThat(result.get(0).getOrders()).extracting(CustomerOrderDTO::getId).containsExactly(10L, 11L);
+        assertThat(result.get(0).getOrders().get(1).getDescription()).isEqualTo("Mouse");
+        assertThat(result.get(1).getOrders()).isEmpty();
+        verify(customerRepository, never()).findAll();
+        verifyNoInteractions(customerMapper);
+    }
+
+    @Test
+    @DisplayName("Should list customers from the summary projection alone when orders are not expanded")
+    void shouldReturnSparseCustomersWithoutOrders() {
+        given(customerRepository.findAllSummaries()).willReturn(List.of(new CustomerSummaryDTO(1L, "Tatenda")));
+
+        List<CustomerDTO> result = customerService.getAllCustomers(FieldSelection.forCustomer("id", null));
+
+        assertThat(result).extracting(CustomerDTO::getId).containsExactly(1L);
+        assertThat(result.get(0).getName()).isNull();
+        assertThat(result.get(0).getOrders()).isNull();
+        verifyNoInteractions(orderRepository, customerMapper);
     }
 
     // -------------------------------------------------------
@@ -89,24 +125,101 @@ class CustomerServiceTest {
         verify(customerRepository).findAll(PageRequest.of(0, 10));
     }
 
+    @Test
+    @DisplayName("Should page over the summary projection when orders are not expanded")
+    void shouldReturnPagedSummaries() {
+        given(customerRepository.findSummaries(PageRequest.of(0, 10)))
+                .willReturn(new PageImpl<>(List.of(new CustomerSummaryDTO(1L, "Tatenda"))));
+
+        Page<CustomerDTO> result = customerService.getAllCustomers(0, 10, FieldSelection.forCustomer("name", null));
+
+        assertThat(result.getContent()).extracting(CustomerDTO::getName).containsExactly("Tatenda");
+        verify(customerRepository, never()).findAll(any(PageRequest.class));
+        verifyNoInteractions(customerMapper);
+    }
+
     // -------------------------------------------------------
-    // searchCustomers(query)
+    // searchCustomers(query, page, size)
     // -------------------------------------------------------
     @Test
-    @DisplayName("Should search customers by name and return results")
-    void shouldSearchCustomersSuccessfully() {
+    @DisplayName("Should search customers through the index and keep its ranking")
+    void shouldSearchCustomersThroughIndex() {
+        Customer other = new Customer();
+        other.setId(2L);
+        other.setName("Tate Moyo");
+
+        given(customerSearchIndex.isReady()).willReturn(true);
+        given(customerSearchIndex.search("tate", 0, 20))
+                .willReturn(new CustomerSearchIndex.Hits(new long[] {2L, 1L}, 2));
+        given(customerRepository.findAllById(List.of(2L, 1L))).willReturn(List.of(customer, other));
+        given(customerMapper.customersToCustomerDTOs(List.of(other, customer)))
+                .willReturn(List.of(customerDTO));
+
+        List<CustomerDTO> result = customerService.searchCustomers("tate", 0, 20);
+
+        assertThat(result).hasSize(1);
+        verify(customerMapper).customersToCustomerDTOs(List.of(other, customer));
+        verify(customerRepository, never()).findByNameContainingIgnoreCase(any());
+    }
+
+    @Test
+    @DisplayName("Should reload index hits as summaries, in ranking order, when orders are not expanded")
+    void shouldSearchSummariesThroughIndex() {
+        given(customerSearchIndex.isReady()).willReturn(true);
+        given(customerSearchIndex.search("tate", 0, 20))
+                .willReturn(new CustomerSearchIndex.Hits(new long[] {2L, 1L}, 2));
+        given(customerRepository.findSummariesByIdIn(List.of(2L, 1L))).willReturn(List.of(
+                new CustomerSummaryDTO(1L, "Tatenda"), new CustomerSummaryDTO(2L, "Tate Moyo")));
+
+        List<CustomerDTO> result = customerService.searchCustomers("tate", 0, 20, FieldSelection.forCustomer(null, ""));
+
+        assertThat(result).extracting(CustomerDTO::getName).containsExactly("Tate Moyo", "Tatenda");
+        verify(customerRepository, never()).findAllById(anyList());
+        verifyNoInteractions(customerMapper);
+    }
+
+    @Test
+    @DisplayName("Should pass the page offset to the index")
+    void shouldPageThroughIndex() {
+        given(customerSearchIndex.isReady()).willReturn(true);
+        given(customerSearchIndex.search("tate", 20, 10))
+                .willReturn(new CustomerSearchIndex.Hits(new long[0], 3));
+        given(customerMapper.customersToCustomerDTOs(List.of())).willReturn(List.of());
+
+        List<CustomerDTO> result = customerService.searchCustomers("tate", 2, 10);
+
+        assertThat(result).isEmpty();
+        verify(customerRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database while the index is not ready")
+    void shouldSearchCustomersInDatabaseBeforeIndexIsReady() {
         given(customerRepository.findByNameContainingIgnoreCase("tate"))
                 .willReturn(List.of(customer));
         given(customerMapper.customersToCustomerDTOs(List.of(customer)))
                 .willReturn(List.of(customerDTO));
 
-        List<CustomerDTO> result = customerService.searchCustomers("tate");
+        List<CustomerDTO> result = customerService.searchCustomers("tate", 0, 20);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Tatenda");
         verify(customerRepository).findByNameContainingIgnoreCase("tate");
     }
 
+    @Test
+    @DisplayName("Should return an empty page for a very large page number before the index is ready")
+    void shouldSearchDatabaseBeyondIntegerOffsets() {
+        given(customerRepository.findByNameContainingIgnoreCase("tate"))
+                .willReturn(List.of(customer));
+        given(customerMapper.customersToCustomerDTOs(List.of()))
+                .willReturn(List.of());
+
+        List<CustomerDTO> result = customerService.searchCustomers("tate", Integer.MAX_VALUE, 20);
+
+        assertThat(result).isEmpty();
+    }
+
     @Test
     @DisplayName("Should return empty list when search has no matches")
     void shouldReturnEmptyWhenSearchNoMatches() {
@@ -115,12 +228,117 @@ class CustomerServiceTest {
         given(customerMapper.customersToCustomerDTOs(List.of()))
                 .willReturn(List.of());
 
-        List<CustomerDTO> result = customerService.searchCustomers("missing");
+        List<CustomerDTO> result = customerService.searchCustomers("missing", 0, 20);
 
         assertThat(result).isEmpty();
         verify(customerRepository).findByNameContainingIgnoreCase("missing");
     }
 
+    @Test
+    @DisplayName("Should throw 400 when the search page size is out of range")
+    void shouldRejectInvalidSearchPageSize() {
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> customerService.searchCustomers("tate", 0, CustomerService.MAX_SEARCH_PAGE_SIZE + 1),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    // -------------------------------------------------------
+    // suggestCustomers(prefix, limit)
+    // -------------------------------------------------------
+    @Test
+    @DisplayName("Should return suggestions from memory without touching the repository")
+    void shouldSuggestCustomers() {
+        given(customerNameSuggester.suggest("ta", 5)).willReturn(List.of(new CustomerSummaryDTO(1L, "Tatenda")));
+
+        List<CustomerSummaryDTO> result = customerService.suggestCustomers("ta", 5);
+
+        assertThat(result).extracting(CustomerSummaryDTO::getName).containsExactly("Tatenda");
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw 400 when the suggestion limit is out of range")
+    void shouldRejectInvalidSuggestionLimit() {
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> customerService.suggestCustomers("ta", 0),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    // -------------------------------------------------------
+    // getCustomerOrders(id, after, limit)
+    // -------------------------------------------------------
+    @Test
+    @DisplayName("Should return a page of a customer's orders with a next cursor")
+    void shouldReturnCustomerOrdersPage() {
+        given(orderRepository.findCustomerOrderRowsAfter(1L, 0L, PageRequest.of(0, 3))).willReturn(List.of(
+                new CustomerOrderRowDTO(1L, 10L, "Laptop"), new CustomerOrderRowDTO(1L, 11L, "Mouse"),
+                new CustomerOrderRowDTO(1L, 12L, "Desk")));
+
+        CursorPageDTO<CustomerOrderDTO> page = customerService.getCustomerOrders(1L, null, 2);
+
+        assertThat(page.getContent()).extracting(CustomerOrderDTO::getId).containsExactly(10L, 11L);
+        assertThat(page.getContent().get(1).getDescription()).isEqualTo("Mouse");
+        assertThat(page.getNextCursor()).isEqualTo(CursorCodec.encode(11L));
+        verify(customerRepository, never()).findById(any());
+        verify(customerRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should continue from the cursor and end without a next cursor")
+    void shouldReturnLastCustomerOrdersPage() {
+        given(orderRepository.findCustomerOrderRowsAfter(1L, 11L, PageRequest.of(0, 3)))
+                .willReturn(List.of(new CustomerOrderRowDTO(1L, 12L, "Desk")));
+
+        CursorPageDTO<CustomerOrderDTO> page = customerService.getCustomerOrders(1L, CursorCodec.encode(11L), 2);
+
+        assertThat(page.getContent()).extracting(CustomerOrderDTO::getId).containsExactly(12L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return an empty page for a customer without orders")
+    void shouldReturnEmptyCustomerOrdersPage() {
+        given(orderRepository.findCustomerOrderRowsAfter(1L, 0L, PageRequest.of(0, 21))).willReturn(List.of());
+        given(customerRepository.existsById(1L)).willReturn(true);
+
+        CursorPageDTO<CustomerOrderDTO> page = customerService.getCustomerOrders(1L, null, 20);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw 404 for the orders of an unknown customer")
+    void shouldThrowNotFoundForOrdersOfUnknownCustomer() {
+        given(orderRepository.findCustomerOrderRowsAfter(99L, 0L, PageRequest.of(0, 21))).willReturn(List.of());
+        given(customerRepository.existsById(99L)).willReturn(false);
+
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> customerService.getCustomerOrders(99L, null, 20),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should throw 400 when the orders page limit is out of range")
+    void shouldRejectInvalidCustomerOrdersLimit() {
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> customerService.getCustomerOrders(1L, null, CustomerService.MAX_ORDERS_PAGE_SIZE + 1),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(orderRepository);
+    }
+
     // -------------------------------------------------------
     // createCustomer(dto)
     // -------------------------------------------------------
@@ -138,6 +356,9 @@ class CustomerServiceTest {
 
         assertThat(result.getId()).isEqualTo(1L);
         verify(customerRepository).save(any(Customer.class));
+        verify(customerSearchIndex).add(1L, "Tatenda");
+        verify(customerNameSuggester).add(1L, "Tatenda");
+        assertThat(aggregateVersions.current(Aggregate.CUSTOMERS)).isEqualTo(1);
     }
 
     @Test
@@ -0,0 +1,199 @@
+package com.example.store.service;
+
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.config.OrderBatchProperties;
+import com.example.store.dto.OrderBatchItemResultDTO;
+import com.example.store.dto.OrderBatchResultDTO;
+import com.example.store.dto.OrderCreateDTO;
+import com.example.store.dto.ProductDTO;
+import com.example.store.repository.CustomerRepository;
+import com.example.store.stats.OrderStatistics;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class OrderBatchServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private CustomerRepository customerRepository;
+    private ProductService productService;
+    private OrderBatchProperties properties;
+    private AggregateVersions aggregateVersions;
+    private OrderStatistics orderStatistics;
+
+    private OrderBatchService orderBatchService;
+
+    private final AtomicLong nextId = new AtomicLong(100);
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        customerRepository = mock(CustomerRepository.class);
+        productService = mock(ProductService.class);
+        properties = new OrderBatchProperties();
+        orderStatistics = mock(OrderStatistics.class);
+
+        aggregateVersions = new AggregateVersions();
+        orderBatchService = new OrderBatchService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                customerRepository, productService,
+                Validation.buildDefaultValidatorFactory().getValidator(), properties, aggregateVersions,
+                orderStatistics);
+
+        given(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).willAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            KeyHolder keyHolder = invocation.getArgument(2);
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                keyHolder.getKeyList().add(Map.of("id", nextId.getAndIncrement()));
+            }
+            return new int[setter.getBatchSize()];
+        });
+        given(customerRepository.findExistingIds(anyList())).willReturn(List.of(1L));
+        given(productService.getProductsByIds(anyList())).willReturn(List.of(product(10L), product(11L)));
+    }
+
+    @Test
+    @DisplayName("Should create valid orders and reject invalid ones with their own errors")
+    void shouldReportPerItemResults() {
+        OrderBatchResultDTO result = orderBatchService.createOrders(List.of(
+                order("Laptop", 1L, List.of(10L, 11L)),
+                order("", 1L, null),
+                order("Desk", 2L, null),
+                order("Chair", 1L, List.of(99L))));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getResults()).extracting(OrderBatchItemResultDTO::getStatus).containsExactly(
+                OrderBatchItemResultDTO.Status.CREATED,
+                OrderBatchItemResultDTO.Status.REJECTED,
+                OrderBatchItemResultDTO.Status.REJECTED,
+                OrderBatchItemResultDTO.Status.REJECTED);
+        assertThat(result.getResults().get(0).getOrderId()).isEqualTo(100L);
+        assertThat(result.getResults().get(1).getErrors()).anyMatch(error -> error.startsWith("description"));
+        assertThat(result.getResults().get(2).getErrors()).containsExactly("Invalid customer ID");
+        assertThat(result.getResults().get(3).getErrors()).containsExactly("Invalid product IDs: [99]");
+        assertThat(aggregateVersions.current(Aggregate.ORDERS)).isEqualTo(1);
+        verify(orderStatistics).recordOrder(eq(100L), eq(1L), aryEq(new long[] {10L, 11L}));
+        verifyNoMoreInteractions(orderStatistics);
+    }
+
+    @Test
+    @DisplayName("Should validate customer and product ids of the whole batch with one lookup each")
+    void shouldValidateIdsWithSetBasedLookups() {
+        orderBatchService.createOrders(List.of(
+                order("Laptop", 1L, List.of(10L)),
+                order("Mouse", 1L, List.of(11L, 10L)),
+                order("Desk", 1L, List.of(11L))));
+
+        verify(customerRepository, times(1)).findExistingIds(List.of(1L));
+        verify(productService, times(1)).getProductsByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("Should write product links for created orders in one JDBC batch per chunk")
+    void shouldBatchOrderProductLinks() {
+        orderBatchService.createOrders(List.of(
+                order("Laptop", 1L, List.of(10L, 11L, 10L)),
+                order("Mouse", 1L, List.of(11L))));
+
+        ArgumentCaptor<BatchPreparedStatementSetter> links = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq(OrderBatchService.INSERT_ORDER_PRODUCT), links.capture());
+        assertThat(links.getValue().getBatchSize()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should write one transaction per chunk")
+    void shouldSplitIntoChunks() {
+        properties.setChunkSize(2);
+        List<OrderCreateDTO> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orders.add(order("Order " + i, 1L, null));
+        }
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(orders);
+
+        assertThat(result.getCreated()).isEqualTo(5);
+        assertThat(result.getResults()).extracting(OrderBatchItemResultDTO::getOrderId)
+                .containsExactly(100L, 101L, 102L, 103L, 104L);
+        verify(transactionManager, times(3)).commit(any());
+        verify(jdbcTemplate, never()).batchUpdate(eq(OrderBatchService.INSERT_ORDER_PRODUCT),
+                any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Should reject every item of a chunk that fails to write")
+    void shouldRejectFailedChunk() {
+        willThrow(new DataIntegrityViolationException("boom")).given(jdbcTemplate).batchUpdate(
+                any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(List.of(order("Laptop", 1L, null)));
+
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getResults().get(0).getErrors()).containsExactly("Database error");
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(orderStatistics);
+    }
+
+    @Test
+    @DisplayName("Should throw 400 when the batch is too large")
+    void shouldRejectOversizedBatch() {
+        properties.setMaxItems(1);
+
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> orderBatchService.createOrders(List.of(order("A", 1L, null), order("B", 1L, null))),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static OrderCreateDTO order(String description, Long customerId, List<Long> productIds) {
+        OrderCreateDTO dto = new OrderCreateDTO();
+        dto.setDescription(description);
+        dto.setCustomerId(customerId);
+        dto.setProductIds(productIds);
+        return dto;
+    }
+
+    private static ProductDTO product(long id) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setDescription("Product " + id);
+        return dto;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.store.service;
+
+import com.example.store.dto.OrderCustomerDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.entity.Order;
+import com.example.store.mapper.OrderMapper;
+import com.example.store.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OrderExportServiceTest {
+
+    private OrderRepository orderRepository;
+    private OrderMapper orderMapper;
+    private EntityManager entityManager;
+
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setup() {
+        orderRepository = mock(OrderRepository.class);
+        orderMapper = mock(OrderMapper.class);
+        entityManager = mock(EntityManager.class);
+
+        orderExportService = new OrderExportService(orderRepository, orderMapper, new ObjectMapper(), entityManager);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON document per line")
+    void shouldWriteOneOrderPerLine() throws Exception {
+        Order first = new Order();
+        Order second = new Order();
+        given(orderRepository.streamAllWithCustomer()).willReturn(Stream.of(first, second));
+        given(orderMapper.orderToOrderDTO(first)).willReturn(orderDTO(1L, "Laptop"));
+        given(orderMapper.orderToOrderDTO(second)).willReturn(orderDTO(2L, "Mouse"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = orderExportService.exportOrders(out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        List<String> lines = body.lines().toList();
+        assertThat(count).isEqualTo(2);
+        assertThat(body).endsWith("}\n").doesNotEndWith("\n\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"id\":1", "\"description\":\"Laptop\"", "\"name\":\"Tatenda\"");
+        assertThat(lines.get(1)).contains("\"id\":2", "\"description\":\"Mouse\"");
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    @DisplayName("Should clear the persistence context after every chunk")
+    void shouldClearPersistenceContextPerChunk() throws Exception {
+        int total = OrderExportService.CHUNK_SIZE * 2 + 1;
+        given(orderRepository.streamAllWithCustomer())
+                .willReturn(IntStream.range(0, total).mapToObj(i -> new Order()));
+        given(orderMapper.orderToOrderDTO(any(Order.class))).willReturn(orderDTO(1L, "Laptop"));
+
+        long count = orderExportService.exportOrders(new ByteArrayOutputStream());
+
+        assertThat(count).isEqualTo(total);
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Should write an empty body when there are no orders")
+    void shouldHandleEmptyExport() throws Exception {
+        given(orderRepository.streamAllWithCustomer()).willReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = orderExportService.exportOrders(out);
+
+        assertThat(count).isZero();
+        assertThat(out.toByteArray()).isEmpty();
+    }
+
+    private static OrderDTO orderDTO(Long id, String description) {
+        OrderCustomerDTO customer = new OrderCustomerDTO();
+        customer.setId(1L);
+        customer.setName("Tatenda");
+
+        OrderDTO dto = new OrderDTO();
+        dto.setId(id);
+        dto.setDescription(description);
+        dto.setCustomer(customer);
+        dto.setProducts(List.of());
+        return dto;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.store.service;
+
+import com.example.store.config.OrderIntakeProperties;
+import com.example.store.dto.OrderBatchItemResultDTO;
+import com.example.store.dto.OrderBatchResultDTO;
+import com.example.store.dto.OrderCreateDTO;
+import com.example.store.dto.OrderIntakeStatusDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class OrderIntakeServiceTest {
+
+    private OrderBatchService orderBatchService;
+    private OrderIntakeProperties properties;
+    private OrderIntakeService orderIntakeService;
+
+    @BeforeEach
+    void setup() {
+        orderBatchService = mock(OrderBatchService.class);
+        properties = new OrderIntakeProperties();
+        properties.setQueueCapacity(3);
+        properties.setMaxBatchSize(2);
+        properties.setMaxWait(Duration.ZERO);
+        orderIntakeService = new OrderIntakeService(orderBatchService, properties);
+    }
+
+    @Test
+    @DisplayName("Should queue a submission and report it as queued")
+    void shouldQueueSubmission() {
+        OrderIntakeStatusDTO status = orderIntakeService.submit(order("Laptop"));
+
+        assertThat(status.getStatus()).isEqualTo(OrderIntakeStatusDTO.Status.QUEUED);
+        assertThat(orderIntakeService.getStatus(status.getTrackingId())).isEqualTo(status);
+        assertThat(orderIntakeService.queuedOrders()).isEqualTo(1);
+        verifyNoInteractions(orderBatchService);
+    }
+
+    @Test
+    @DisplayName("Should throw 429 when the queue is full")
+    void shouldApplyBackpressure() {
+        for (int i = 0; i < 3; i++) {
+            orderIntakeService.submit(order("Order " + i));
+        }
+
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> orderIntakeService.submit(order("One too many")),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(orderIntakeService.queuedOrders()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should commit queued orders together and record each outcome")
+    void shouldWriteBatches() throws InterruptedException {
+        String laptop = orderIntakeService.submit(order("Laptop")).getTrackingId();
+        String desk = orderIntakeService.submit(order("Desk")).getTrackingId();
+        String chair = orderIntakeService.submit(order("Chair")).getTrackingId();
+        given(orderBatchService.createOrders(anyList())).willReturn(
+                new OrderBatchResultDTO(1, 1, List.of(
+                        OrderBatchItemResultDTO.created(0, 42L),
+                        OrderBatchItemResultDTO.rejected(1, List.of("Invalid customer ID")))),
+                new OrderBatchResultDTO(1, 0, List.of(OrderBatchItemResultDTO.created(0, 43L))));
+
+        assertThat(orderIntakeService.writeNextBatch(Duration.ZERO)).isEqualTo(2);
+        assertThat(orderIntakeService.writeNextBatch(Duration.ZERO)).isEqualTo(1);
+        assertThat(orderIntakeService.writeNextBatch(Duration.ZERO)).isZero();
+
+        verify(orderBatchService, times(2)).createOrders(anyList());
+        assertThat(orderIntakeService.getStatus(laptop))
+                .isEqualTo(OrderIntakeStatusDTO.created(laptop, 42L));
+        assertThat(orderIntakeService.getStatus(desk))
+                .isEqualTo(OrderIntakeStatusDTO.rejected(desk, List.of("Invalid customer ID")));
+        assertThat(orderIntakeService.getStatus(chair))
+                .isEqualTo(OrderIntakeStatusDTO.created(chair, 43L));
+    }
+
+    @Test
+    @DisplayName("Should reject every order of a batch that fails unexpectedly")
+    void shouldRejectFailedBatch() throws InterruptedException {
+        String laptop = orderIntakeService.submit(order("Laptop")).getTrackingId();
+        given(orderBatchService.createOrders(anyList())).willThrow(new QueryTimeoutException("timeout"));
+
+        orderIntakeService.writeNextBatch(Duration.ZERO);
+
+        assertThat(orderIntakeService.getStatus(laptop).getStatus()).isEqualTo(OrderIntakeStatusDTO.Status.REJECTED);
+    }
+
+    @Test
+    @DisplayName("Should reject a batch failing with an Error and keep writing the next one")
+    void shouldSurviveErrorInBatch() throws InterruptedException {
+        String laptop = orderIntakeService.submit(order("Laptop")).getTrackingId();
+        String desk = orderIntakeService.submit(order("Desk")).getTrackingId();
+        String chair = orderIntakeService.submit(order("Chair")).getTrackingId();
+        given(orderBatchService.createOrders(anyList()))
+                .willThrow(new StackOverflowError())
+                .willReturn(new OrderBatchResultDTO(1, 0, List.of(OrderBatchItemResultDTO.created(0, 43L))));
+
+        assertThat(orderIntakeService.writeNextBatch(Duration.ZERO)).isEqualTo(2);
+        assertThat(orderIntakeService.writeNextBatch(Duration.ZERO)).isEqualTo(1);
+
+        assertThat(orderIntakeService.getStatus(laptop).getStatus()).isEqualTo(OrderIntakeStatusDTO.Status.REJECTED);
+        assertThat(orderIntakeService.getStatus(desk).getStatus()).isEqualTo(OrderIntakeStatusDTO.Status.REJECTED);
+        assertThat(orderIntakeService.getStatus(chair)).isEqualTo(OrderIntakeStatusDTO.created(chair, 43L));
+    }
+
+    @Test
+    @DisplayName("Should throw 404 for an unknown tracking id")
+    void shouldThrowNotFoundForUnknownTrackingId() {
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> orderIntakeService.getStatus("missing"),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should drain the queue before stopping and refuse new submissions")
+    void shouldDrainOnStop() {
+        given(orderBatchService.createOrders(anyList()))
+                .willReturn(new OrderBatchResultDTO(1, 0, List.of(OrderBatchItemResultDTO.created(0, 42L))));
+        String laptop = orderIntakeService.submit(order("Laptop")).getTrackingId();
+
+        orderIntakeService.start();
+        orderIntakeService.stop();
+
+        assertThat(orderIntakeService.isRunning()).isFalse();
+        assertThat(orderIntakeService.getStatus(laptop).getStatus()).isEqualTo(OrderIntakeStatusDTO.Status.CREATED);
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> orderIntakeService.submit(order("Late")),
+                ResponseStatusException.class
+        );
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    @DisplayName("Should write every accepted submission when stop races with submitters")
+    void shouldNotLoseSubmissionsRacingStop() throws InterruptedException {
+        properties.setQueueCapacity(100_000);
+        properties.setMaxBatchSize(50);
+        orderIntakeService = new OrderIntakeService(orderBatchService, properties);
+        given(orderBatchService.createOrders(anyList())).willAnswer(invocation -> {
+            List<OrderCreateDTO> orders = invocation.getArgument(0);
+            List<OrderBatchItemResultDTO> results = new ArrayList<>(orders.size());
+            for (int i = 0; i < orders.size(); i++) {
+                results.add(OrderBatchItemResultDTO.created(i, i + 1L));
+            }
+            return new OrderBatchResultDTO(orders.size(), 0, results);
+        });
+        orderIntakeService.start();
+
+        Queue<String> accepted = new ConcurrentLinkedQueue<>();
+        CountDownLatch submitting = new CountDownLatch(4);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread submitter = new Thread(() -> {
+                submitting.countDown();
+                try {
+                    while (true) {
+                        accepted.add(orderIntakeService.submit(order("Laptop")).getTrackingId());
+                    }
+                } catch (ResponseStatusException ex) {
+                    // 503 once stopping, or 429 if the submitters outran the writer
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+        submitting.await();
+        orderIntakeService.stop();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertThat(accepted).isNotEmpty();
+        assertThat(accepted).allSatisfy(trackingId -> assertThat(orderIntakeService.getStatus(trackingId).getStatus())
+                .isEqualTo(OrderIntakeStatusDTO.Status.CREATED));
+    }
+
+    private static OrderCreateDTO order(String description) {
+        OrderCreateDTO dto = new OrderCreateDTO();
+        dto.setDescription(description);
+        dto.setCustomerId(1L);
+        return dto;
+    }
+}
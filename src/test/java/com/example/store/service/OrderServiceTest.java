@@ -1,7 +1,12 @@
 package com.example.store.service;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.dto.CursorPageDTO;
+import com.example.store.dto.CustomerOrderRowDTO;
 import com.example.store.dto.OrderCreateDTO;
 import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
 import com.example.store.entity.Customer;
 import com.example.store.entity.Order;
 import com.example.store.entity.Product;
@@ -9,11 +14,13 @@ import com.example.store.mapper.OrderMapper;
 import com.example.store.repository.CustomerRepository;
 import com.example.store.repository.OrderRepository;
 import com.example.store.repository.ProductRepository;
+import com.example.store.stats.OrderStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -23,6 +30,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 class OrderServiceTest {
@@ -31,6 +40,9 @@ class OrderServiceTest {
     private OrderMapper orderMapper;
     private CustomerRepository customerRepository;
     private ProductRepository productRepository;
+    private ProductService productService;
+    private AggregateVersions aggregateVersions;
+    private OrderStatistics orderStatistics;
 
     private OrderService orderService;
 
@@ -38,6 +50,7 @@ class OrderServiceTest {
     private OrderDTO orderDTO;
     private Customer customer;
     private Product product;
+    private ProductDTO productDTO;
 
     @BeforeEach
     void setup() {
@@ -45,8 +58,12 @@ class OrderServiceTest {
         orderMapper = mock(OrderMapper.class);
         customerRepository = mock(CustomerRepository.class);
         productRepository = mock(ProductRepository.class);
+        productService = mock(ProductService.class);
+        orderStatistics = mock(OrderStatistics.class);
 
-        orderService = new OrderService(orderRepository, orderMapper, customerRepository, productRepository);
+        aggregateVersions = new AggregateVersions();
+        orderService = new OrderService(orderRepository, orderMapper, customerRepository, productRepository,
+                productService, aggregateVersions, orderStatistics);
 
         customer = new Customer();
         customer.setId(1L);
@@ -56,6 +73,10 @@ class OrderServiceTest {
         product.setId(100L);
         product.setDescription("Laptop");
 
+        productDTO = new ProductDTO();
+        productDTO.setId(100L);
+        productDTO.setDescription("Laptop");
+
         order = new Order();
         order.setId(10L);
         order.setDescription("Order for Laptop");
@@ -73,27 +94,111 @@ class OrderServiceTest {
     @Test
     @DisplayName("Should return all orders successfully")
     void shouldReturnAllOrders() {
-        given(orderRepository.findAll()).willReturn(List.of(order));
+        given(orderRepository.findAllWithCustomerAndProducts()).willReturn(List.of(order));
         given(orderMapper.ordersToOrderDTOs(List.of(order))).willReturn(List.of(orderDTO));
 
         List<OrderDTO> result = orderService.getAllOrders();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getDescription()).isEqualTo("Order for Laptop");
-        verify(orderRepository).findAll();
+        verify(orderRepository).findAllWithCustomerAndProducts();
         verify(orderMapper).ordersToOrderDTOs(anyList());
     }
 
     @Test
     @DisplayName("Should return empty list when no orders exist")
     void shouldReturnEmptyListWhenNoOrders() {
-        given(orderRepository.findAll()).willReturn(List.of());
+        given(orderRepository.findAllWithCustomerAndProducts()).willReturn(List.of());
         given(orderMapper.ordersToOrderDTOs(List.of())).willReturn(List.of());
 
         List<OrderDTO> result = orderService.getAllOrders();
 
         assertThat(result).isEmpty();
-        verify(orderRepository).findAll();
+        verify(orderRepository).findAllWithCustomerAndProducts();
+    }
+
+    @Test
+    @DisplayName("Should list orders from the row projection when products are not expanded")
+    void shouldReturnSparseOrdersWithCustomer() {
+        given(orderRepository.findAllCustomerOrderRowsWithName())
+                .willReturn(List.of(new CustomerOrderRowDTO(1L, 10L, "Order for Laptop", "Tatenda")));
+
+        List<OrderDTO> result = orderService.getAllOrders(FieldSelection.forOrder("id", "customer"));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(10L);
+        assertThat(result.get(0).getDescription()).isNull();
+        assertThat(result.get(0).getCustomer().getName()).isEqualTo("Tatenda");
+        assertThat(result.get(0).getProducts()).isNull();
+        verify(orderRepository, never()).findAllWithCustomerAndProducts();
+        verifyNoInteractions(orderMapper);
+    }
+
+    // ----------------------------------------------------------
+    // getOrdersPage()
+    // ----------------------------------------------------------
+    @Test
+    @DisplayName("Should return a page with a next cursor when more orders exist")
+    void shouldReturnPageWithNextCursor() {
+        given(orderRepository.findIdsAfter(0L, PageRequest.of(0, 2))).willReturn(List.of(10L, 11L));
+        given(orderRepository.findAllWithCustomerAndProductsByIdIn(List.of(10L))).willReturn(List.of(order));
+        given(orderMapper.ordersToOrderDTOs(List.of(order))).willReturn(List.of(orderDTO));
+
+        CursorPageDTO<OrderDTO> page = orderService.getOrdersPage(null, 1);
+
+        assertThat(page.getContent()).containsExactly(orderDTO);
+        assertThat(page.getNextCursor()).isEqualTo(CursorCodec.encode(10L));
+    }
+
+    @Test
+    @DisplayName("Should continue after the id encoded in the cursor and stop on the last page")
+    void shouldContinueFromCursor() {
+        given(orderRepository.findIdsAfter(9L, PageRequest.of(0, 6))).willReturn(List.of(10L));
+        given(orderRepository.findAllWithCustomerAndProductsByIdIn(List.of(10L))).willReturn(List.of(order));
+        given(orderMapper.ordersToOrderDTOs(List.of(order))).willReturn(List.of(orderDTO));
+
+        CursorPageDTO<OrderDTO> page = orderService.getOrdersPage(CursorCodec.encode(9L), 5);
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+        verify(orderRepository).findIdsAfter(9L, PageRequest.of(0, 6));
+    }
+
+    @Test
+    @DisplayName("Should skip the fetch query when the page is empty")
+    void shouldReturnEmptyPageWithoutFetching() {
+        given(orderRepository.findIdsAfter(10L, PageRequest.of(0, 6))).willReturn(List.of());
+
+        CursorPageDTO<OrderDTO> page = orderService.getOrdersPage(CursorCodec.encode(10L), 5);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        verify(orderRepository, never()).findAllWithCustomerAndProductsByIdIn(anyList());
+    }
+
+    @Test
+    @DisplayName("Should throw 400 when the cursor cannot be decoded")
+    void shouldRejectInvalidCursor() {
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> orderService.getOrdersPage("not-a-cursor", 10),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(ex.getReason()).isEqualTo("Invalid cursor");
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw 400 when the limit is out of range")
+    void shouldRejectOutOfRangeLimit() {
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> orderService.getOrdersPage(null, OrderService.MAX_PAGE_SIZE + 1),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(orderRepository);
     }
 
     // ----------------------------------------------------------
@@ -111,6 +216,32 @@ class OrderServiceTest {
         verify(orderRepository).findById(10L);
     }
 
+    @Test
+    @DisplayName("Should read a single order as a row when nothing is expanded")
+    void shouldReturnSparseOrderById() {
+        given(orderRepository.findCustomerOrderRowsByIdIn(List.of(10L)))
+                .willReturn(List.of(new CustomerOrderRowDTO(1L, 10L, "Order for Laptop")));
+
+        OrderDTO result = orderService.getOrderById(10L, FieldSelection.forOrder(null, ""));
+
+        assertThat(result.getDescription()).isEqualTo("Order for Laptop");
+        assertThat(result.getCustomer()).isNull();
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw 404 on the row path when the order is missing")
+    void shouldThrowNotFoundForSparseOrder() {
+        given(orderRepository.findCustomerOrderRowsByIdIn(List.of(99L))).willReturn(List.of());
+
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> orderService.getOrderById(99L, FieldSelection.forOrder("id", null)),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
     @Test
     @DisplayName("Should throw 404 when order not found")
     void shouldThrowNotFoundWhenOrderMissing() {
@@ -138,17 +269,22 @@ class OrderServiceTest {
         dto.setProductIds(List.of(100L));
 
         given(customerRepository.findById(1L)).willReturn(Optional.of(customer));
-        given(productRepository.findAllById(List.of(100L))).willReturn(List.of(product));
+        given(productService.getProductsByIds(List.of(100L))).willReturn(List.of(productDTO));
+        given(productRepository.getReferenceById(100L)).willReturn(product);
         given(orderRepository.save(any(Order.class))).willReturn(order);
-        given(orderMapper.orderToOrderDTO(order)).willReturn(orderDTO);
+        given(orderMapper.orderToOrderDTOWithoutProducts(order)).willReturn(orderDTO);
 
         OrderDTO result = orderService.createOrder(dto);
 
         assertThat(result.getDescription()).isEqualTo("Order for Laptop");
+        assertThat(result.getProducts()).containsExactly(productDTO);
 
         verify(orderRepository).save(any(Order.class));
         verify(customerRepository).findById(1L);
-        verify(productRepository).findAllById(List.of(100L));
+        verify(productService).getProductsByIds(List.of(100L));
+        verify(productRepository, never()).findAllById(anyList());
+        assertThat(aggregateVersions.current(Aggregate.ORDERS)).isEqualTo(1);
+        verify(orderStatistics).recordOrder(eq(10L), eq(1L), aryEq(new long[] {100L}));
     }
 
     @Test
@@ -181,13 +317,14 @@ class OrderServiceTest {
 
         given(customerRepository.findById(1L)).willReturn(Optional.of(customer));
         given(orderRepository.save(any(Order.class))).willReturn(order);
-        given(orderMapper.orderToOrderDTO(order)).willReturn(orderDTO);
+        given(orderMapper.orderToOrderDTOWithoutProducts(order)).willReturn(orderDTO);
 
         OrderDTO result = orderService.createOrder(dto);
 
         assertThat(result.getId()).isEqualTo(10L);
+        assertThat(result.getProducts()).isEmpty();
         verify(orderRepository).save(any(Order.class));
-        verify(productRepository, never()).findAllById(anyList());
+        verify(productService, never()).getProductsByIds(anyList());
     }
 
     @Test
@@ -199,9 +336,10 @@ class OrderServiceTest {
         dto.setProductIds(List.of(100L));
 
         given(customerRepository.findById(1L)).willReturn(Optional.of(customer));
-        given(productRepository.findAllById(anyList())).willReturn(List.of(product));
+        given(productService.getProductsByIds(anyList())).willReturn(List.of(productDTO));
+        given(productRepository.getReferenceById(100L)).willReturn(product);
         given(orderRepository.save(any(Order.class))).willReturn(order);
-        given(orderMapper.orderToOrderDTO(order)).willReturn(orderDTO);
+        given(orderMapper.orderToOrderDTOWithoutProducts(order)).willReturn(orderDTO);
 
         orderService.createOrder(dto);
 
@@ -230,9 +368,10 @@ class OrderServiceTest {
             dto.setProductIds(List.of(100L));
 
             given(customerRepository.findById(1L)).willReturn(Optional.of(customer));
-            given(productRepository.findAllById(List.of(100L))).willReturn(List.of(product));
+            given(productService.getProductsByIds(List.of(100L))).willReturn(List.of(productDTO));
+            given(productRepository.getReferenceById(100L)).willReturn(product);
             given(orderRepository.save(any(Order.class))).willReturn(order);
-            given(orderMapper.orderToOrderDTO(order)).willReturn(orderDTO);
+            given(orderMapper.orderToOrderDTOWithoutProducts(order)).willReturn(orderDTO);
 
             OrderDTO result = orderService.createOrder(dto);
 
@@ -0,0 +1,72 @@
+package com.example.store.service;
+
+import com.example.store.dto.OrderCountDTO;
+import com.example.store.stats.OrderStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class OrderStatsServiceTest {
+
+    private OrderStatistics orderStatistics;
+    private OrderStatsService orderStatsService;
+
+    @BeforeEach
+    void setup() {
+        orderStatistics = mock(OrderStatistics.class);
+        orderStatsService = new OrderStatsService(orderStatistics);
+        given(orderStatistics.isReady()).willReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should look up the count of one customer")
+    void shouldReturnCustomerOrderCount() {
+        given(orderStatistics.ordersOfCustomer(1L)).willReturn(42L);
+
+        assertThat(orderStatsService.getCustomerOrderCount(1L)).isEqualTo(new OrderCountDTO(1L, 42L));
+    }
+
+    @Test
+    @DisplayName("Should return the top products from the counters")
+    void shouldReturnTopProducts() {
+        given(orderStatistics.topProducts(5)).willReturn(List.of(new OrderCountDTO(101L, 7L)));
+
+        assertThat(orderStatsService.getTopProducts(5)).containsExactly(new OrderCountDTO(101L, 7L));
+    }
+
+    @Test
+    @DisplayName("Should reject a limit outside 1..MAX_TOP")
+    void shouldRejectOutOfRangeLimit() {
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> orderStatsService.getTopCustomers(OrderStatsService.MAX_TOP + 1),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(orderStatistics, never()).topCustomers(OrderStatsService.MAX_TOP + 1);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 until the counters are seeded")
+    void shouldRejectWhileLoading() {
+        given(orderStatistics.isReady()).willReturn(false);
+
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> orderStatsService.getProductOrderCount(100L),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.store.service;
 
+import com.example.store.cache.AggregateVersions;
+import com.example.store.cache.AggregateVersions.Aggregate;
+import com.example.store.cache.ProductCatalogCache;
+import com.example.store.config.StoreCacheProperties;
 import com.example.store.dto.ProductCreateDTO;
 import com.example.store.dto.ProductDTO;
 import com.example.store.entity.Product;
@@ -23,6 +27,8 @@ class ProductServiceTest {
 
     private ProductRepository productRepository;
     private ProductMapper productMapper;
+    private ProductCatalogCache productCatalogCache;
+    private AggregateVersions aggregateVersions;
     private ProductService productService;
 
     private Product product;
@@ -32,7 +38,10 @@ class ProductServiceTest {
     void setup() {
         productRepository = mock(ProductRepository.class);
         productMapper = mock(ProductMapper.class);
-        productService = new ProductService(productRepository, productMapper);
+        productCatalogCache = new ProductCatalogCache(new StoreCacheProperties());
+        aggregateVersions = new AggregateVersions();
+        productService = new ProductService(productRepository, productMapper, productCatalogCache,
+                aggregateVersions);
 
         product = new Product();
         product.setId(1L);
@@ -65,6 +74,7 @@ class ProductServiceTest {
         verify(productMapper).productCreateDtoToProduct(dto);
         verify(productRepository).save(any(Product.class));
         verify(productMapper).productToProductDTO(product);
+        assertThat(aggregateVersions.current(Aggregate.PRODUCTS)).isEqualTo(1);
     }
 
     @Test
@@ -149,6 +159,87 @@ class ProductServiceTest {
         verify(productMapper, never()).productToProductDTO(any());
     }
 
+    @Test
+    @DisplayName("Should serve a cached product without touching the repository")
+    void shouldReturnCachedProductById() {
+        productCatalogCache.put(productDTO);
+
+        ProductDTO result = productService.getProductById(1L);
+
+        assertThat(result).isSameAs(productDTO);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should cache a product after the first lookup")
+    void shouldCacheProductAfterLookup() {
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+        given(productMapper.productToProductDTO(product)).willReturn(productDTO);
+
+        productService.getProductById(1L);
+        productService.getProductById(1L);
+
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should add created products to the catalog cache")
+    void shouldCacheCreatedProduct() {
+        ProductCreateDTO dto = new ProductCreateDTO();
+        dto.setDescription("Laptop");
+
+        given(productMapper.productCreateDtoToProduct(dto)).willReturn(product);
+        given(productRepository.save(product)).willReturn(product);
+        given(productMapper.productToProductDTO(product)).willReturn(productDTO);
+
+        productService.createProduct(dto);
+
+        assertThat(productCatalogCache.get(1L)).isSameAs(productDTO);
+    }
+
+    // ----------------------------------------------------------
+    // getProductsByIds()
+    // ----------------------------------------------------------
+    @Test
+    @DisplayName("Should load only cache misses, in one query, and skip duplicates")
+    void shouldLoadOnlyMissingProducts() {
+        ProductDTO mouse = new ProductDTO();
+        mouse.setId(2L);
+        mouse.setDescription("Mouse");
+        Product mouseEntity = new Product();
+        mouseEntity.setId(2L);
+        productCatalogCache.put(productDTO);
+
+        given(productRepository.findAllById(List.of(2L))).willReturn(List.of(mouseEntity));
+        given(productMapper.productsToProductDTOs(List.of(mouseEntity))).willReturn(List.of(mouse));
+
+        List<ProductDTO> result = productService.getProductsByIds(List.of(1L, 2L, 1L));
+
+        assertThat(result).containsExactly(productDTO, mouse);
+        assertThat(productCatalogCache.get(2L)).isSameAs(mouse);
+        verify(productRepository).findAllById(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Should not query the repository when every product is cached")
+    void shouldServeAllProductsFromCache() {
+        productCatalogCache.put(productDTO);
+
+        List<ProductDTO> result = productService.getProductsByIds(List.of(1L));
+
+        assertThat(result).containsExactly(productDTO);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should skip unknown product ids")
+    void shouldSkipUnknownProductIds() {
+        given(productRepository.findAllById(List.of(42L))).willReturn(List.of());
+        given(productMapper.productsToProductDTOs(List.of())).willReturn(List.of());
+
+        assertThat(productService.getProductsByIds(List.of(42L))).isEmpty();
+    }
+
     // ----------------------------------------------------------
     // Logging / Defensive calls
     // ----------------------------------------------------------
@@ -0,0 +1,160 @@
+package com.example.store.service;
+
+import com.example.store.dto.CoPurchaseDTO;
+import com.example.store.dto.CustomerOrderCountDTO;
+import com.example.store.dto.HistogramBucketDTO;
+import com.example.store.dto.ReportPageDTO;
+import com.example.store.entity.Customer;
+import com.example.store.entity.Order;
+import com.example.store.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hand-written report SQL against known rows:
+ * <pre>
+ * Ada    order 1: laptop, mouse, monitor    order 2: laptop, mouse
+ * Bola   order 3: laptop, mouse             order 4: no products
+ * Chipo  order 5: monitor
+ * Dudu   no orders
+ * </pre>
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(ReportService.class)
+class ReportServiceQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReportService reportService;
+
+    private Customer ada;
+    private Customer bola;
+    private Customer chipo;
+    private Customer dudu;
+    private Product laptop;
+    private Product mouse;
+    private Product monitor;
+
+    @BeforeEach
+    void setup() {
+        ada = customer("Ada");
+        bola = customer("Bola");
+        chipo = customer("Chipo");
+        dudu = customer("Dudu");
+        laptop = product("Laptop");
+        mouse = product("Mouse");
+        monitor = product("Monitor");
+
+        order(ada, laptop, mouse, monitor);
+        order(ada, laptop, mouse);
+        order(bola, laptop, mouse);
+        order(bola);
+        order(chipo, monitor);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should count orders per customer, including customers without orders")
+    void shouldCountOrdersPerCustomer() {
+        ReportPageDTO<CustomerOrderCountDTO> report = reportService.getCustomerOrderCounts(0, 10);
+
+        assertThat(report.getContent()).containsExactly(
+                new CustomerOrderCountDTO(ada.getId(), "Ada", 2L),
+                new CustomerOrderCountDTO(bola.getId(), "Bola", 2L),
+                new CustomerOrderCountDTO(chipo.getId(), "Chipo", 1L),
+                new CustomerOrderCountDTO(dudu.getId(), "Dudu", 0L));
+        assertThat(report.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should page customer order counts with a look-ahead row")
+    void shouldPageCustomerOrderCounts() {
+        ReportPageDTO<CustomerOrderCountDTO> first = reportService.getCustomerOrderCounts(0, 3);
+        ReportPageDTO<CustomerOrderCountDTO> second = reportService.getCustomerOrderCounts(1, 3);
+
+        assertThat(first.getContent()).hasSize(3);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getContent()).extracting(CustomerOrderCountDTO::getName).containsExactly("Dudu");
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should count each unordered product pair once")
+    void shouldCountEachPairOnce() {
+        ReportPageDTO<CoPurchaseDTO> report = reportService.getCoPurchases(null, 0, 10);
+
+        assertThat(report.getContent()).containsExactly(
+                new CoPurchaseDTO(laptop.getId(), mouse.getId(), 3L),
+                new CoPurchaseDTO(laptop.getId(), monitor.getId(), 1L),
+                new CoPurchaseDTO(mouse.getId(), monitor.getId(), 1L));
+    }
+
+    @Test
+    @DisplayName("Should report the pairs of one product with that product first")
+    void shouldCountPairsOfOneProduct() {
+        ReportPageDTO<CoPurchaseDTO> report = reportService.getCoPurchases(monitor.getId(), 0, 10);
+
+        assertThat(report.getContent()).containsExactly(
+                new CoPurchaseDTO(monitor.getId(), laptop.getId(), 1L),
+                new CoPurchaseDTO(monitor.getId(), mouse.getId(), 1L));
+    }
+
+    @Test
+    @DisplayName("Should bucket customers by their number of orders, starting at zero")
+    void shouldBuildOrdersPerCustomerHistogram() {
+        ReportPageDTO<HistogramBucketDTO> report = reportService.getOrdersPerCustomerHistogram(0, 10);
+
+        assertThat(report.getContent()).containsExactly(
+                new HistogramBucketDTO(0L, 1L),
+                new HistogramBucketDTO(1L, 1L),
+                new HistogramBucketDTO(2L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should bucket orders by their number of products, starting at zero")
+    void shouldBuildProductsPerOrderHistogram() {
+        ReportPageDTO<HistogramBucketDTO> report = reportService.getProductsPerOrderHistogram(0, 10);
+
+        assertThat(report.getContent()).containsExactly(
+                new HistogramBucketDTO(0L, 1L),
+                new HistogramBucketDTO(1L, 1L),
+                new HistogramBucketDTO(2L, 2L),
+                new HistogramBucketDTO(3L, 1L));
+    }
+
+    private Customer customer(String name) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        return entityManager.persist(customer);
+    }
+
+    private Product product(String description) {
+        Product product = new Product();
+        product.setDescription(description);
+        return entityManager.persist(product);
+    }
+
+    private void order(Customer customer, Product... products) {
+        Order order = new Order();
+        order.setDescription("Order for " + customer.getName());
+        order.setCustomer(customer);
+        order.setProducts(new ArrayList<>(List.of(products)));
+        entityManager.persist(order);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.store.service;
+
+import com.example.store.dto.CoPurchaseDTO;
+import com.example.store.dto.CustomerOrderCountDTO;
+import com.example.store.dto.HistogramBucketDTO;
+import com.example.store.dto.ReportPageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ReportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ReportService reportService;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        reportService = new ReportService(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should read one extra row to tell that another page exists")
+    void shouldDetectNextPage() {
+        given(jdbcTemplate.query(eq(ReportService.CUSTOMER_ORDER_COUNTS), any(RowMapper.class), eq(3), eq(2L)))
+                .willReturn(List.of(
+                        new CustomerOrderCountDTO(1L, "Tatenda", 9L),
+                        new CustomerOrderCountDTO(2L, "Rudo", 4L),
+                        new CustomerOrderCountDTO(3L, "Farai", 1L)));
+
+        ReportPageDTO<CustomerOrderCountDTO> page = reportService.getCustomerOrderCounts(1, 2);
+
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getContent()).extracting(CustomerOrderCountDTO::getCustomerId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should report the last page without a next page")
+    void shouldReturnLastPage() {
+        given(jdbcTemplate.query(eq(ReportService.PRODUCTS_PER_ORDER_HISTOGRAM), any(RowMapper.class), eq(11), eq(0L)))
+                .willReturn(List.of(new HistogramBucketDTO(1L, 40L), new HistogramBucketDTO(2L, 12L)));
+
+        ReportPageDTO<HistogramBucketDTO> page = reportService.getProductsPerOrderHistogram(0, 10);
+
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getContent()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should restrict co-purchases to one product when it is given")
+    void shouldFilterCoPurchasesByProduct() {
+        given(jdbcTemplate.query(eq(ReportService.CO_PURCHASES_OF_PRODUCT), any(RowMapper.class),
+                eq(100L), eq(6), eq(0L)))
+                .willReturn(List.of(new CoPurchaseDTO(100L, 102L, 20L)));
+
+        ReportPageDTO<CoPurchaseDTO> page = reportService.getCoPurchases(100L, 0, 5);
+
+        assertThat(page.getContent()).containsExactly(new CoPurchaseDTO(100L, 102L, 20L));
+    }
+
+    @Test
+    @DisplayName("Should reject a page size above the maximum without querying")
+    void shouldRejectOversizedPage() {
+        ResponseStatusException ex = catchThrowableOfType(
+                () -> reportService.getOrdersPerCustomerHistogram(0, ReportService.MAX_PAGE_SIZE + 1),
+                ResponseStatusException.class
+        );
+
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.store.stats;
+
+import com.example.store.dto.OrderCountDTO;
+import com.example.store.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+class OrderStatisticsTest {
+
+    private OrderRepository orderRepository;
+    private OrderStatistics statistics;
+
+    @BeforeEach
+    void setup() {
+        orderRepository = mock(OrderRepository.class);
+        statistics = new OrderStatistics(orderRepository);
+
+        given(orderRepository.findMaxId()).willReturn(10L);
+        given(orderRepository.countOrdersByCustomer(10L)).willReturn(Stream.of(
+                new OrderCountDTO(1L, 6L),
+                new OrderCountDTO(2L, 3L),
+                new OrderCountDTO(3L, 1L)));
+        given(orderRepository.countOrdersByProduct(10L)).willReturn(Stream.of(
+                new OrderCountDTO(100L, 4L),
+                new OrderCountDTO(101L, 7L),
+                new OrderCountDTO(102L, 4L)));
+    }
+
+    @Test
+    @DisplayName("Should load the counts of the aggregate queries")
+    void shouldSeedFromAggregates() {
+        statistics.seed();
+
+        assertThat(statistics.isReady()).isTrue();
+        assertThat(statistics.totalOrders()).isEqualTo(10);
+        assertThat(statistics.ordersOfCustomer(1L)).isEqualTo(6);
+        assertThat(statistics.ordersOfProduct(101L)).isEqualTo(7);
+        assertThat(statistics.ordersOfCustomer(99L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count a new order for its customer and each of its products")
+    void shouldRecordOrder() {
+        statistics.seed();
+
+        statistics.recordOrder(11L, 3L, new long[] {100L, 103L});
+
+        assertThat(statistics.totalOrders()).isEqualTo(11);
+        assertThat(statistics.ordersOfCustomer(3L)).isEqualTo(2);
+        assertThat(statistics.ordersOfProduct(100L)).isEqualTo(5);
+        assertThat(statistics.ordersOfProduct(103L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay orders recorded before the seed unless the seed already counted them")
+    void shouldReplayOrdersRecordedDuringSeed() {
+        given(orderRepository.findExistingIds(List.of(10L))).willReturn(List.of(10L));
+        statistics.recordOrder(10L, 1L, new long[] {100L});
+        statistics.recordOrder(11L, 1L, new long[] {100L});
+
+        assertThat(statistics.isReady()).isFalse();
+        assertThat(statistics.ordersOfCustomer(1L)).isZero();
+
+        statistics.seed();
+
+        assertThat(statistics.ordersOfCustomer(1L)).isEqualTo(7);
+        assertThat(statistics.ordersOfProduct(100L)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should replay an order below the seed's max id that committed after its snapshot")
+    void shouldReplayOrdersMissingFromSnapshot() {
+        // 9 was allocated before 10 but committed after the snapshot was taken
+        given(orderRepository.findExistingIds(List.of(10L, 9L))).willReturn(List.of(10L));
+        statistics.recordOrder(10L, 2L, new long[] {101L});
+        statistics.recordOrder(9L, 2L, new long[] {101L});
+
+        statistics.seed();
+
+        assertThat(statistics.totalOrders()).isEqualTo(11);
+        assertThat(statistics.ordersOfCustomer(2L)).isEqualTo(4);
+        assertThat(statistics.ordersOfProduct(101L)).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should not query the snapshot when nothing was recorded during the seed")
+    void shouldNotLookUpIdsWithoutPendingOrders() {
+        statistics.seed();
+
+        then(orderRepository).should(never()).findExistingIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should rank by count, breaking ties by the lower id")
+    void shouldReturnTopN() {
+        statistics.seed();
+
+        assertThat(statistics.topProducts(2)).containsExactly(
+                new OrderCountDTO(101L, 7L), new OrderCountDTO(100L, 4L));
+        assertThat(statistics.topCustomers(10)).extracting(OrderCountDTO::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should keep every count when many threads record orders at once")
+    void shouldCountConcurrentUpdates() throws InterruptedException {
+        statistics.seed();
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    statistics.recordOrder(100 + i, i % 50, new long[] {200L + i % 7});
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(statistics.totalOrders()).isEqualTo(10 + 8_000);
+        assertThat(statistics.ordersOfCustomer(49L)).isEqualTo(8 * 20);
+        assertThat(statistics.topProducts(1).get(0)).isEqualTo(new OrderCountDTO(200L, 8L * 143));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.store.tools;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * Loads rows with batched JDBC inserts, committing after every batch. Works with any JDBC driver;
+ * on PostgreSQL add {@code reWriteBatchedInserts=true} to the URL for multi-row inserts.
+ */
+final class BatchRowWriter implements RowWriter {
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private int parameter;
+    private int pending;
+    private long rows;
+
+    BatchRowWriter(Connection connection, int batchSize, String table, String... columns) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                + ") VALUES (" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")");
+    }
+
+    @Override
+    public void add(long value) throws SQLException {
+        statement.setLong(++parameter, value);
+    }
+
+    @Override
+    public void add(String value) throws SQLException {
+        statement.setString(++parameter, value);
+    }
+
+    @Override
+    public void endRow() throws SQLException {
+        statement.addBatch();
+        parameter = 0;
+        rows++;
+        if (++pending == batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (pending > 0) {
+                flush();
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    private void flush() throws SQLException {
+        statement.executeBatch();
+        connection.commit();
+        pending = 0;
+    }
+}
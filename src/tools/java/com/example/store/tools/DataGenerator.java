@@ -0,0 +1,296 @@
+package com.example.store.tools;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic dataset (customers, products, orders and order_product links) straight into the
+ * database, for load tests and benchmarks.
+ *
+ * <p>Order ownership and product popularity follow Zipf distributions, so a few customers place many
+ * orders and a few products appear in many of them. Output is deterministic for a given {@code --seed}.
+ * Rows are streamed: memory use does not grow with the dataset size.
+ *
+ * <pre>
+ * ./gradlew generateData --args="--customers=1000000 --products=100000 --orders=10000000 --lines-per-order=5"
+ * </pre>
+ *
+ * <p>Options ({@code --name=value}):
+ * <ul>
+ *   <li>{@code url}, {@code user}, {@code password}: JDBC connection (defaults match application.yaml)</li>
+ *   <li>{@code customers}, {@code products}, {@code orders}: row counts</li>
+ *   <li>{@code lines-per-order}: average number of distinct products per order</li>
+ *   <li>{@code customer-skew}, {@code product-skew}: Zipf exponents (0 = uniform)</li>
+ *   <li>{@code mode}: {@code copy} (PostgreSQL COPY, default) or {@code batch} (batched JDBC inserts)</li>
+ *   <li>{@code batch-size}: rows per JDBC batch in batch mode</li>
+ *   <li>{@code truncate}: empty all four tables first</li>
+ *   <li>{@code seed}: random seed</li>
+ * </ul>
+ *
+ * <p>New rows get ids after the current maximum of each table and the id sequences are moved past them,
+ * so the application keeps working against the loaded data.
+ */
+public final class DataGenerator {
+
+    private static final long PROGRESS_EVERY = 1_000_000;
+
+    private static final String[] FIRST_NAMES = {
+            "Tatenda", "Rudo", "Tendai", "Farai", "Chipo", "Tinashe", "Nyasha", "Kuda", "Tariro", "Rumbi",
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Amara", "Kwame", "Zanele", "Thabo", "Aisha", "Sipho", "Naledi", "Femi", "Ngozi", "Kofi"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Moyo", "Ncube", "Sibanda", "Dube", "Ndlovu", "Chiwandire", "Mpofu", "Nyathi", "Mutasa", "Chikore",
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Taylor", "Thomas", "Moore", "Jackson", "Martin",
+            "Okafor", "Mensah", "Dlamini", "Nkosi", "Banda", "Phiri", "Mwangi", "Otieno", "Adeyemi", "Boateng"
+    };
+
+    private static final String[] ADJECTIVES = {
+            "Ergonomic", "Rustic", "Sleek", "Handcrafted", "Practical", "Refined", "Durable", "Compact",
+            "Gorgeous", "Intelligent", "Licensed", "Modern", "Recycled", "Small", "Tasty", "Unbranded"
+    };
+
+    private static final String[] MATERIALS = {
+            "Steel", "Wooden", "Cotton", "Granite", "Plastic", "Rubber", "Concrete", "Bronze",
+            "Frozen", "Fresh", "Leather", "Silk", "Soft", "Metal", "Glass", "Bamboo"
+    };
+
+    private static final String[] NOUNS = {
+            "Chair", "Table", "Keyboard", "Mouse", "Laptop", "Shoes", "Shirt", "Gloves", "Hat", "Towels",
+            "Bike", "Car", "Ball", "Computer", "Sausages", "Pizza", "Cheese", "Salad", "Fish", "Bacon"
+    };
+
+    private final Options options;
+    private final Connection connection;
+
+    private DataGenerator(Options options, Connection connection) {
+        this.options = options;
+        this.connection = connection;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Options options = Options.parse(args);
+        try (Connection connection = DriverManager.getConnection(options.url(), options.user(), options.password())) {
+            connection.setAutoCommit(false);
+            new DataGenerator(options, connection).run();
+        }
+    }
+
+    private void run() throws SQLException {
+        long start = System.nanoTime();
+        if (options.truncate()) {
+            execute("TRUNCATE order_product, \"order\", product, customer RESTART IDENTITY");
+            connection.commit();
+        }
+        long customerBase = maxId("customer");
+        long productBase = maxId("product");
+        long orderBase = maxId("\"order\"");
+
+        loadCustomers(customerBase);
+        loadProducts(productBase);
+        loadOrders(orderBase, customerBase);
+        loadOrderProducts(orderBase, productBase);
+
+        moveSequence("customer_id_seq", customerBase + options.customers());
+        moveSequence("product_id_seq", productBase + options.products());
+        moveSequence("order_id_seq", orderBase + options.orders());
+        connection.commit();
+        System.out.printf("Done in %,d s%n", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private void loadCustomers(long base) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        try (RowWriter writer = open("customer", "id", "name")) {
+            for (long i = 1; i <= options.customers(); i++) {
+                writer.add(base + i);
+                writer.add(pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random));
+                endRow(writer, "customer");
+            }
+        }
+        connection.commit();
+    }
+
+    private void loadProducts(long base) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.seed() + 1);
+        try (RowWriter writer = open("product", "id", "description")) {
+            for (long i = 1; i <= options.products(); i++) {
+                writer.add(base + i);
+                writer.add(productName(random));
+                endRow(writer, "product");
+            }
+        }
+        connection.commit();
+    }
+
+    private void loadOrders(long base, long customerBase) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.seed() + 2);
+        ZipfSampler customers = new ZipfSampler(options.customers(), options.customerSkew());
+        Permutation customerIds = new Permutation(options.customers());
+        try (RowWriter writer = open("\"order\"", "id", "description", "customer_id")) {
+            for (long i = 1; i <= options.orders(); i++) {
+                writer.add(base + i);
+                writer.add(productName(random));
+                writer.add(customerBase + customerIds.apply(customers.sample(random)));
+                endRow(writer, "order");
+            }
+        }
+        connection.commit();
+    }
+
+    private void loadOrderProducts(long orderBase, long productBase) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.seed() + 3);
+        ZipfSampler products = new ZipfSampler(options.products(), options.productSkew());
+        Permutation productIds = new Permutation(options.products());
+        int maxLines = Math.min(2 * options.linesPerOrder() - 1, options.products());
+        long[] lines = new long[maxLines];
+        try (RowWriter writer = open("order_product", "order_id", "product_id")) {
+            for (long i = 1; i <= options.orders(); i++) {
+                int count = 1 + random.nextInt(maxLines);
+                int distinct = 0;
+                // order_product has (order_id, product_id) as its key, so each product once per order
+                for (int attempt = 0; distinct < count && attempt < count * 8; attempt++) {
+                    long productId = productBase + productIds.apply(products.sample(random));
+                    if (!contains(lines, distinct, productId)) {
+                        lines[distinct++] = productId;
+                        writer.add(orderBase + i);
+                        writer.add(productId);
+                        endRow(writer, "order_product");
+                    }
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private RowWriter open(String table, String... columns) throws SQLException {
+        return options.copy()
+                ? new CopyRowWriter(connection, table, columns)
+                : new BatchRowWriter(connection, options.batchSize(), table, columns);
+    }
+
+    private static void endRow(RowWriter writer, String table) throws SQLException {
+        writer.endRow();
+        if (writer.rows() % PROGRESS_EVERY == 0) {
+            System.out.printf("%s: %,d rows%n", table, writer.rows());
+        }
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Sets the sequence so its next value lies past {@code maxId}; with the pooled optimizer Hibernate
+     * hands out the block ending at that next value.
+     */
+    private void moveSequence(String sequence, long maxId) throws SQLException {
+        execute("SELECT setval('" + sequence + "', GREATEST(" + maxId + ", "
+                + "(SELECT last_value FROM " + sequence + ")))");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String productName(SplittableRandom random) {
+        return pick(ADJECTIVES, random) + " " + pick(MATERIALS, random) + " " + pick(NOUNS, random);
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Spreads Zipf ranks over the id range (rank 1 is not id 1), using multiplication by a stride coprime
+     * with {@code n}, which is a bijection on {@code 0..n-1}.
+     */
+    private static final class Permutation {
+
+        private final long n;
+        private final long stride;
+
+        Permutation(long n) {
+            this.n = n;
+            long candidate = 1_000_003L;
+            while (gcd(candidate, n) != 1) {
+                candidate++;
+            }
+            this.stride = candidate;
+        }
+
+        /**
+         * Maps a rank in {@code 1..n} to an offset in {@code 1..n}.
+         */
+        long apply(int rank) {
+            return (rank - 1) * stride % n + 1;
+        }
+
+        private static long gcd(long a, long b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+    }
+
+    private record Options(String url, String user, String password, int customers, int products, long orders,
+                           int linesPerOrder, double customerSkew, double productSkew, boolean copy, int batchSize,
+                           boolean truncate, long seed) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+                }
+                int eq = arg.indexOf('=');
+                values.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+            }
+            String mode = values.getOrDefault("mode", "copy");
+            if (!mode.equals("copy") && !mode.equals("batch")) {
+                throw new IllegalArgumentException("--mode must be copy or batch: " + mode);
+            }
+            Options options = new Options(
+                    values.getOrDefault("url", "jdbc:postgresql://localhost:5433/store?reWriteBatchedInserts=true"),
+                    values.getOrDefault("user", "admin"),
+                    values.getOrDefault("password", "admin"),
+                    Integer.parseInt(values.getOrDefault("customers", "100000")),
+                    Integer.parseInt(values.getOrDefault("products", "10000")),
+                    Long.parseLong(values.getOrDefault("orders", "1000000")),
+                    Integer.parseInt(values.getOrDefault("lines-per-order", "5")),
+                    Double.parseDouble(values.getOrDefault("customer-skew", "1.0")),
+                    Double.parseDouble(values.getOrDefault("product-skew", "1.1")),
+                    mode.equals("copy"),
+                    Integer.parseInt(values.getOrDefault("batch-size", "5000")),
+                    Boolean.parseBoolean(values.getOrDefault("truncate", "false")),
+                    Long.parseLong(values.getOrDefault("seed", "42")));
+            if (options.customers() < 1 || options.products() < 1 || options.orders() < 0
+                    || options.linesPerOrder() < 1) {
+                throw new IllegalArgumentException(
+                        "customers and products must be positive, orders not negative, lines-per-order at least 1");
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.store.tools;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load driver for comparing request execution modes (platform thread pool versus
+ * {@code STORE_VIRTUAL_THREADS=true}) on the same data and hardware.
+ *
+ * <p>{@code concurrency} clients each send one request at a time, round-robin over {@code paths}, for
+ * {@code warmup} seconds (not recorded) and then {@code duration} seconds. Throughput and latency
+ * percentiles are printed and appended as one JSON line to {@code out}, tagged with {@code label}.
+ *
+ * <pre>
+ * STORE_VIRTUAL_THREADS=false ./gradlew bootRun   # then: ./gradlew loadTest --args="--label=platform"
+ * STORE_VIRTUAL_THREADS=true ./gradlew bootRun    # then: ./gradlew loadTest --args="--label=virtual"
+ * </pre>
+ *
+ * <p>Options ({@code --name=value}): {@code base-url}, {@code paths} (comma separated), {@code concurrency},
+ * {@code warmup}, {@code duration}, {@code label}, {@code out}.
+ */
+public final class LoadBenchmark {
+
+    private static final String DEFAULT_PATHS =
+            "/order/list?limit=100,/customer/list/paged?page=0&size=20,/customer/search?query=tat,/order/find/1";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        List<URI> uris = Arrays.stream(options.getOrDefault("paths", DEFAULT_PATHS).split(","))
+                .map(path -> URI.create(baseUrl + path.strip()))
+                .toList();
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        String label = options.getOrDefault("label", "unnamed");
+        Path out = Path.of(options.getOrDefault("out", "build/reports/load/results.jsonl"));
+
+        System.out.printf("%s: %d clients against %s for %ds (+%ds warmup)%n",
+                label, concurrency, baseUrl, duration.toSeconds(), warmup.toSeconds());
+
+        Instant recordFrom = Instant.now().plus(warmup);
+        Instant end = recordFrom.plus(duration);
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .build()) {
+            List<Future<long[]>> results = new ArrayList<>(concurrency);
+            for (int c = 0; c < concurrency; c++) {
+                int offset = c;
+                results.add(clients.submit(() -> run(http, uris, offset, recordFrom, end, errors)));
+            }
+            for (Future<long[]> result : results) {
+                latencies.add(result.get());
+            }
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = duration.toNanos() / 1e9;
+        String json = String.format(Locale.ROOT,
+                "{\"label\":\"%s\",\"time\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,"
+                        + "\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"p999Ms\":%.2f,\"maxMs\":%.2f}",
+                label, Instant.now(), concurrency, all.length, errors.get(), all.length / seconds,
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), percentile(all, 1.0));
+        System.out.println(json);
+
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.writeString(out, json + System.lineSeparator(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * One client: sends requests back to back until {@code end}; returns the recorded latencies in nanoseconds.
+     */
+    private static long[] run(HttpClient http, List<URI> uris, int offset, Instant recordFrom, Instant end,
+                              AtomicLong errors) throws InterruptedException {
+        long[] latencies = new long[1024];
+        int count = 0;
+        for (int i = offset; Instant.now().isBefore(end); i++) {
+            HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size())).GET().build();
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (IOException ex) {
+                ok = false;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (Instant.now().isBefore(recordFrom)) {
+                continue;
+            }
+            if (!ok) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = elapsed;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.store.tools;
+
+import java.sql.SQLException;
+
+/**
+ * Streams rows into one table. Columns are added in the order given when the writer was opened.
+ */
+interface RowWriter extends AutoCloseable {
+
+    void add(long value) throws SQLException;
+
+    void add(String value) throws SQLException;
+
+    void endRow() throws SQLException;
+
+    long rows();
+
+    /**
+     * Writes any buffered rows and finishes the load.
+     */
+    @Override
+    void close() throws SQLException;
+}